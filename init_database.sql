@@ -12,6 +12,7 @@ DROP TABLE IF EXISTS user_word_error;
 DROP TABLE IF EXISTS exam_record;
 DROP TABLE IF EXISTS word;
 DROP TABLE IF EXISTS user;
+DROP TABLE IF EXISTS id_generator;
 
 -- 创建用户表
 CREATE TABLE user (
@@ -30,17 +31,26 @@ CREATE TABLE user (
 
 -- 创建单词表
 CREATE TABLE word (
-  id BIGINT NOT NULL AUTO_INCREMENT COMMENT '单词ID',
+  id BIGINT NOT NULL COMMENT '单词ID(由 id_generator 表分配，不使用自增)',
   english VARCHAR(255) NOT NULL COMMENT '英文单词',
+  english_norm VARCHAR(255) DEFAULT NULL COMMENT '英文规范形式(小写、合并空白、去掉括号说明，查重用)',
   chinese VARCHAR(255) NOT NULL COMMENT '中文翻译',
   grade INT NOT NULL COMMENT '年级',
   unit INT NOT NULL COMMENT '单元',
   created_at DATETIME DEFAULT NULL COMMENT '创建时间',
   updated_at DATETIME DEFAULT NULL COMMENT '更新时间',
   PRIMARY KEY (id),
+  UNIQUE KEY UK_WORD_ENGLISH_NORM (english_norm),
   INDEX idx_grade_unit (grade, unit)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='单词表';
 
+-- 创建ID分配表（单词ID按块分配，以便批量插入）
+CREATE TABLE id_generator (
+  name VARCHAR(64) NOT NULL COMMENT '序列名称',
+  next_val BIGINT NOT NULL COMMENT '下一个可分配的ID',
+  PRIMARY KEY (name)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='ID分配表';
+
 -- 创建考试记录表
 CREATE TABLE exam_record (
   id BIGINT NOT NULL AUTO_INCREMENT COMMENT '考试记录ID',
@@ -50,8 +60,9 @@ CREATE TABLE exam_record (
   correct_answers INT NOT NULL COMMENT '正确答案数',
   wrong_answers INT NOT NULL COMMENT '错误答案数',
   exam_time_seconds INT NOT NULL COMMENT '考试用时（秒）',
-  created_at DATETIME DEFAULT NULL COMMENT '创建时间',
+  created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
   PRIMARY KEY (id),
+  INDEX idx_exam_record_user_created (user_id, created_at, id),
   CONSTRAINT FK_EXAM_RECORD_USER FOREIGN KEY (user_id) REFERENCES user (id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='考试记录表';
 
@@ -63,6 +74,7 @@ CREATE TABLE user_word_error (
   error_count INT NOT NULL DEFAULT 0 COMMENT '错误次数',
   updated_at DATETIME DEFAULT NULL COMMENT '更新时间',
   PRIMARY KEY (id),
+  UNIQUE KEY UK_USER_WORD_ERROR_USER_WORD (user_id, word_id),
   CONSTRAINT FK_USER_WORD_ERROR_USER FOREIGN KEY (user_id) REFERENCES user (id) ON DELETE CASCADE,
   CONSTRAINT FK_USER_WORD_ERROR_WORD FOREIGN KEY (word_id) REFERENCES word (id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='用户单词错误记录表';
@@ -73,27 +85,33 @@ INSERT INTO user (username, password, nick_name, total_score, role, grade, creat
 ('testuser', 'test123', '测试用户', 0, 'USER', 1, NOW(), NOW());
 
 -- 插入示例单词数据
-INSERT INTO word (english, chinese, grade, unit, created_at, updated_at) VALUES
-('apple', '苹果', 1, 1, NOW(), NOW()),
-('banana', '香蕉', 1, 1, NOW(), NOW()),
-('orange', '橙子', 1, 1, NOW(), NOW()),
-('grape', '葡萄', 1, 1, NOW(), NOW()),
-('watermelon', '西瓜', 1, 1, NOW(), NOW()),
-('strawberry', '草莓', 1, 1, NOW(), NOW()),
-('pineapple', '菠萝', 1, 1, NOW(), NOW()),
-('mango', '芒果', 1, 1, NOW(), NOW()),
-('peach', '桃子', 1, 1, NOW(), NOW()),
-('pear', '梨', 1, 1, NOW(), NOW()),
-('computer', '计算机', 1, 2, NOW(), NOW()),
-('phone', '电话', 1, 2, NOW(), NOW()),
-('book', '书', 1, 2, NOW(), NOW()),
-('pen', '笔', 1, 2, NOW(), NOW()),
-('pencil', '铅笔', 1, 2, NOW(), NOW()),
-('desk', '桌子', 1, 2, NOW(), NOW()),
-('chair', '椅子', 1, 2, NOW(), NOW()),
-('window', '窗户', 1, 2, NOW(), NOW()),
-('door', '门', 1, 2, NOW(), NOW()),
-('light', '灯', 1, 2, NOW(), NOW());
+INSERT INTO word (id, english, chinese, grade, unit, created_at, updated_at) VALUES
+(1, 'apple', '苹果', 1, 1, NOW(), NOW()),
+(2, 'banana', '香蕉', 1, 1, NOW(), NOW()),
+(3, 'orange', '橙子', 1, 1, NOW(), NOW()),
+(4, 'grape', '葡萄', 1, 1, NOW(), NOW()),
+(5, 'watermelon', '西瓜', 1, 1, NOW(), NOW()),
+(6, 'strawberry', '草莓', 1, 1, NOW(), NOW()),
+(7, 'pineapple', '菠萝', 1, 1, NOW(), NOW()),
+(8, 'mango', '芒果', 1, 1, NOW(), NOW()),
+(9, 'peach', '桃子', 1, 1, NOW(), NOW()),
+(10, 'pear', '梨', 1, 1, NOW(), NOW()),
+(11, 'computer', '计算机', 1, 2, NOW(), NOW()),
+(12, 'phone', '电话', 1, 2, NOW(), NOW()),
+(13, 'book', '书', 1, 2, NOW(), NOW()),
+(14, 'pen', '笔', 1, 2, NOW(), NOW()),
+(15, 'pencil', '铅笔', 1, 2, NOW(), NOW()),
+(16, 'desk', '桌子', 1, 2, NOW(), NOW()),
+(17, 'chair', '椅子', 1, 2, NOW(), NOW()),
+(18, 'window', '窗户', 1, 2, NOW(), NOW()),
+(19, 'door', '门', 1, 2, NOW(), NOW()),
+(20, 'light', '灯', 1, 2, NOW(), NOW());
+
+-- 示例单词不含空白和括号，规范形式即小写形式
+UPDATE word SET english_norm = LOWER(english);
+
+-- 单词ID从现有最大ID之后开始分配
+INSERT INTO id_generator (name, next_val) SELECT 'word', COALESCE(MAX(id), 0) + 1 FROM word;
 
 -- 插入示例考试记录数据
 INSERT INTO exam_record (user_id, score, total_questions, correct_answers, wrong_answers, exam_time_seconds, created_at) VALUES
@@ -0,0 +1,75 @@
+package com.example.englishwords.benchmark;
+
+import com.example.englishwords.service.TypoTolerantAnswerGrader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 判分开销：一张100题的试卷，原来的 trim().toLowerCase().equals() 与容错判分的对比
+ * 答案中约60%完全正确，20%有一处拼写错误，20%完全错误。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnswerGraderBenchmark {
+
+    private static final int QUESTIONS = 100;
+
+    private final TypoTolerantAnswerGrader grader = new TypoTolerantAnswerGrader(0.5);
+
+    private String[] expected;
+    private String[] answers;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        expected = new String[QUESTIONS];
+        answers = new String[QUESTIONS];
+        for (int i = 0; i < QUESTIONS; i++) {
+            String word = SyntheticData.englishWord(random);
+            expected[i] = i % 10 == 0 ? word + "/" + SyntheticData.englishWord(random) : word;
+            int kind = random.nextInt(10);
+            if (kind < 6) {
+                answers[i] = " " + word.toUpperCase() + " ";
+            } else if (kind < 8) {
+                answers[i] = SyntheticData.withTypo(word, random);
+            } else {
+                answers[i] = SyntheticData.englishWord(random);
+            }
+        }
+    }
+
+    @Benchmark
+    public int exactEquals() {
+        int correct = 0;
+        for (int i = 0; i < QUESTIONS; i++) {
+            if (answers[i].trim().toLowerCase().equals(expected[i].trim().toLowerCase())) {
+                correct++;
+            }
+        }
+        return correct;
+    }
+
+    @Benchmark
+    public double typoTolerant() {
+        double credit = 0;
+        for (int i = 0; i < QUESTIONS; i++) {
+            credit += grader.grade(expected[i], answers[i]);
+        }
+        return credit;
+    }
+}
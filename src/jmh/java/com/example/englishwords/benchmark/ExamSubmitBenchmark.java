@@ -0,0 +1,75 @@
+package com.example.englishwords.benchmark;
+
+import com.example.englishwords.entity.ExamRecord;
+import com.example.englishwords.entity.Word;
+import com.example.englishwords.service.ExamService;
+import com.example.englishwords.service.ExamSubmissionWriter;
+import com.example.englishwords.service.TypoTolerantAnswerGrader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExamService.submitExam 的判分路径（持久化交给写入器，这里替换为空操作）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExamSubmitBenchmark {
+
+    @Param({"10", "50", "100"})
+    public int questions;
+
+    private ExamService examService;
+    private List<Word> examWords;
+    private Map<Long, String> answers;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        examWords = SyntheticData.wordBank(questions, random);
+        answers = new HashMap<>();
+        for (Word word : examWords) {
+            int kind = random.nextInt(10);
+            if (kind < 6) {
+                answers.put(word.getId(), word.getEnglish());
+            } else if (kind < 8) {
+                answers.put(word.getId(), SyntheticData.withTypo(word.getEnglish(), random));
+            } else {
+                answers.put(word.getId(), SyntheticData.englishWord(random));
+            }
+        }
+
+        examService = new ExamService();
+        ReflectionTestUtils.setField(examService, "answerGrader", new TypoTolerantAnswerGrader(0.5));
+        ReflectionTestUtils.setField(examService, "examSubmissionWriter", new ExamSubmissionWriter(1, 1, 0) {
+            @Override
+            public void submit(ExamRecord record, List<Long> wrongWordIds, int rewardPoints) {
+                // 只测判分，不写库
+            }
+        });
+    }
+
+    @Benchmark
+    public Map<String, Object> submitExam() {
+        return examService.submitExam(1L, answers, examWords);
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.englishwords.benchmark;
+
+import com.example.englishwords.entity.Word;
+import com.example.englishwords.service.OcrImagePreprocessor;
+import com.example.englishwords.service.WordTextParser;
+import net.sourceforge.tess4j.Tesseract;
+import net.sourceforge.tess4j.TesseractException;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 预处理前后的OCR耗时和解析准确率
+ * 样本：仓库根目录的 test_image.png（原图），以及把它放大到 4000x3000、倾斜2度、
+ * 叠加光照渐变得到的“手机照片”。准确率以 test_image.png 中的单词为标准答案，
+ * 通过 AuxCounters 输出解析出的单词数和其中正确的单词数。
+ * 需要 tessdata 目录（-Docr.tessdata=路径，默认 ./tessdata），在项目根目录下运行。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class OcrPreprocessBenchmark {
+
+    private static final String LANGUAGE = "eng+chi_sim";
+
+    // test_image.png 中的内容
+    private static final String[][] EXPECTED = {{"hello", "你好"}, {"world", "世界"}, {"apple", "苹果"}};
+
+    @Param({"original", "photo"})
+    public String sample;
+
+    @Param({"false", "true"})
+    public boolean preprocess;
+
+    private final WordTextParser parser = new WordTextParser();
+    private final OcrImagePreprocessor preprocessor =
+            new OcrImagePreprocessor(true, true, true, true, true, 300, 7.0, 0, 0.15, 5, 0.5);
+
+    private Tesseract tesseract;
+    private BufferedImage image;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BufferedImage original = ImageIO.read(new File(System.getProperty("ocr.sample", "test_image.png")));
+        image = "photo".equals(sample) ? asPhoto(original) : original;
+        tesseract = new Tesseract();
+        tesseract.setDatapath(System.getProperty("ocr.tessdata", "./tessdata"));
+        tesseract.setLanguage(LANGUAGE);
+    }
+
+    @Benchmark
+    public int ocr(Accuracy accuracy) throws TesseractException {
+        BufferedImage input = preprocess ? preprocessor.process(image) : image;
+        List<Word> words = parser.parse(tesseract.doOCR(input), 1, 1);
+        accuracy.record(words);
+        return words.size();
+    }
+
+    @Benchmark
+    public BufferedImage preprocessOnly() {
+        return preprocessor.process(image);
+    }
+
+    /**
+     * 每次识别解析出的单词数和与标准答案一致的单词数
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Accuracy {
+        public long parsedWords;
+        public long correctWords;
+        public long expectedWords;
+
+        void record(List<Word> words) {
+            Set<String> expected = new HashSet<>();
+            for (String[] pair : EXPECTED) {
+                expected.add(pair[0] + " " + pair[1]);
+            }
+            expectedWords += expected.size();
+            parsedWords += words.size();
+            for (Word word : words) {
+                if (expected.remove(word.getEnglish().toLowerCase() + " " + word.getChinese())) {
+                    correctWords++;
+                }
+            }
+        }
+    }
+
+    /**
+     * 模拟手机拍摄：放大到 4000x3000，倾斜2度，左上亮右下暗
+     */
+    private static BufferedImage asPhoto(BufferedImage original) {
+        int width = 4000;
+        int height = 3000;
+        BufferedImage photo = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = photo.createGraphics();
+        try {
+            g.setPaint(new GradientPaint(0, 0, new Color(250, 250, 240), width, height, new Color(170, 170, 160)));
+            g.fillRect(0, 0, width, height);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            AffineTransform transform = AffineTransform.getRotateInstance(Math.toRadians(2), width / 2.0, height / 2.0);
+            double scale = Math.min((double) width / original.getWidth(), (double) height / original.getHeight()) * 0.9;
+            transform.translate((width - original.getWidth() * scale) / 2, (height - original.getHeight() * scale) / 2);
+            transform.scale(scale, scale);
+            // 原图白底按“乘”的效果叠加：只画深色像素
+            BufferedImage ink = new BufferedImage(original.getWidth(), original.getHeight(), BufferedImage.TYPE_INT_ARGB);
+            for (int y = 0; y < original.getHeight(); y++) {
+                for (int x = 0; x < original.getWidth(); x++) {
+                    int rgb = original.getRGB(x, y);
+                    int luminance = ((rgb >> 16 & 0xFF) * 299 + (rgb >> 8 & 0xFF) * 587 + (rgb & 0xFF) * 114) / 1000;
+                    ink.setRGB(x, y, (255 - luminance) << 24 | 0x202020);
+                }
+            }
+            g.drawImage(ink, transform, null);
+        } finally {
+            g.dispose();
+        }
+        return photo;
+    }
+}
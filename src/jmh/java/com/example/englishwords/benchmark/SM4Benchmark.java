@@ -0,0 +1,108 @@
+package com.example.englishwords.benchmark;
+
+import com.example.englishwords.util.SM4Util;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 密码加解密：SM4Util.encrypt / decrypt（登录和修改密码时调用）
+ * legacy* 为原来每次调用都 Cipher.getInstance 并重新初始化的实现，作为对比基线。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SM4Benchmark {
+
+    private static final String KEY = "1234567890123456";
+    private static final String PASSWORD = "student@2024";
+
+    private String encrypted;
+    private byte[] plainBytes;
+    private byte[] encryptedBytes;
+
+    @Setup
+    public void setUp() {
+        encrypted = SM4Util.encrypt(PASSWORD);
+        plainBytes = PASSWORD.getBytes(StandardCharsets.UTF_8);
+        encryptedBytes = Base64.getDecoder().decode(encrypted);
+        if (!PASSWORD.equals(legacyDecrypt(legacyEncrypt(PASSWORD, KEY), KEY))
+                || !encrypted.equals(legacyEncrypt(PASSWORD, KEY))) {
+            throw new IllegalStateException("缓存实现与原实现结果不一致");
+        }
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return SM4Util.encrypt(PASSWORD);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return SM4Util.decrypt(encrypted);
+    }
+
+    @Benchmark
+    public byte[] encryptBytes() {
+        return SM4Util.encrypt(plainBytes, KEY);
+    }
+
+    @Benchmark
+    public byte[] decryptBytes() {
+        return SM4Util.decrypt(encryptedBytes, KEY);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return SM4Util.matches(PASSWORD, encrypted);
+    }
+
+    @Benchmark
+    public String legacyEncrypt() {
+        return legacyEncrypt(PASSWORD, KEY);
+    }
+
+    @Benchmark
+    public String legacyDecrypt() {
+        return legacyDecrypt(encrypted, KEY);
+    }
+
+    static String legacyEncrypt(String content, String key) {
+        try {
+            SecretKeySpec secretKeySpec = new SecretKeySpec(key.getBytes("UTF-8"), "SM4");
+            Cipher cipher = Cipher.getInstance("SM4/ECB/PKCS5Padding", BouncyCastleProvider.PROVIDER_NAME);
+            cipher.init(Cipher.ENCRYPT_MODE, secretKeySpec);
+            return Base64.getEncoder().encodeToString(cipher.doFinal(content.getBytes("UTF-8")));
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    static String legacyDecrypt(String content, String key) {
+        try {
+            SecretKeySpec secretKeySpec = new SecretKeySpec(key.getBytes("UTF-8"), "SM4");
+            Cipher cipher = Cipher.getInstance("SM4/ECB/PKCS5Padding", BouncyCastleProvider.PROVIDER_NAME);
+            cipher.init(Cipher.DECRYPT_MODE, secretKeySpec);
+            return new String(cipher.doFinal(Base64.getDecoder().decode(content)), "UTF-8");
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
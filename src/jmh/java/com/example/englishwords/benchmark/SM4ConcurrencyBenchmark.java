@@ -0,0 +1,65 @@
+package com.example.englishwords.benchmark;
+
+import com.example.englishwords.util.SM4Util;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多线程下 SM4Util 的加密-解密往返
+ * 每个线程使用不同的明文和两把密钥交替加解密，结果不一致时抛出异常使本次运行失败，
+ * 用于确认缓存的 Cipher 不会在操作中途被其他线程使用。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class SM4ConcurrencyBenchmark {
+
+    private static final String[] KEYS = {"1234567890123456", "abcdefghijklmnop"};
+
+    private String[] plaintexts;
+    private int next;
+
+    @Setup
+    public void setUp(ThreadParams threadParams) {
+        Random random = new Random(threadParams.getThreadIndex());
+        plaintexts = new String[64];
+        for (int i = 0; i < plaintexts.length; i++) {
+            // 长度不同的明文，填充后跨越一到多个分组
+            StringBuilder text = new StringBuilder("t").append(threadParams.getThreadIndex()).append('-');
+            int words = 1 + random.nextInt(6);
+            for (int w = 0; w < words; w++) {
+                text.append(SyntheticData.englishWord(random));
+            }
+            plaintexts[i] = text.toString();
+        }
+    }
+
+    @Benchmark
+    public String roundTrip() {
+        int i = next++;
+        String plaintext = plaintexts[i & (plaintexts.length - 1)];
+        String key = KEYS[i & 1];
+        String decrypted = SM4Util.decrypt(SM4Util.encrypt(plaintext, key), key);
+        if (!plaintext.equals(decrypted)) {
+            throw new IllegalStateException("SM4往返结果不一致: " + plaintext + " -> " + decrypted);
+        }
+        return decrypted;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.englishwords.benchmark;
+
+import com.example.englishwords.entity.UserWordError;
+import com.example.englishwords.entity.Word;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * 基准测试用的合成数据
+ */
+final class SyntheticData {
+
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+
+    static final int GRADES = 9;
+    static final int UNITS = 10;
+
+    private SyntheticData() {
+    }
+
+    /**
+     * 3~12个字母的随机单词
+     */
+    static String englishWord(Random random) {
+        int length = 3 + random.nextInt(10);
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = LETTERS.charAt(random.nextInt(LETTERS.length()));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 在单词中制造一处拼写错误（替换一个字母或交换相邻两个字母）
+     */
+    static String withTypo(String word, Random random) {
+        char[] chars = word.toCharArray();
+        int i = random.nextInt(chars.length - 1);
+        if (random.nextBoolean()) {
+            char c = chars[i];
+            chars[i] = chars[i + 1];
+            chars[i + 1] = c;
+        } else {
+            chars[i] = LETTERS.charAt(random.nextInt(LETTERS.length()));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 2~4个汉字的随机释义
+     */
+    static String chineseWord(Random random) {
+        int length = 2 + random.nextInt(3);
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) (0x4E00 + random.nextInt(0x5000));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 均匀分布在 GRADES 个年级、UNITS 个单元中的单词库，ID从1开始
+     */
+    static List<Word> wordBank(int size, Random random) {
+        List<Word> words = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            Word word = new Word();
+            word.setId((long) i + 1);
+            word.setEnglish(englishWord(random));
+            word.setChinese(chineseWord(random));
+            word.setGrade(1 + i % GRADES);
+            word.setUnit(1 + (i / GRADES) % UNITS);
+            word.setCreatedAt(now);
+            word.setUpdatedAt(now);
+            words.add(word);
+        }
+        return words;
+    }
+
+    /**
+     * 错题档案：单词库中约 density 比例的单词有1~10次错误
+     */
+    static List<UserWordError> errorProfile(long userId, int bankSize, double density, Random random) {
+        int count = (int) (bankSize * density);
+        List<UserWordError> errors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            UserWordError error = new UserWordError();
+            error.setUserId(userId);
+            error.setWordId(1L + random.nextInt(bankSize));
+            error.setErrorCount(1 + random.nextInt(10));
+            errors.add(error);
+        }
+        return errors;
+    }
+
+    /**
+     * 用动态代理实现仓库接口，只响应给定名字的方法
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> handlers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> handler = handlers.get(method.getName());
+            if (handler == null) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            return handler.apply(args);
+        });
+    }
+
+    static Map<String, Function<Object[], Object>> handlers() {
+        return new HashMap<>();
+    }
+}
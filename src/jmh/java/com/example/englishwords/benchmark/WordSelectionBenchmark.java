@@ -0,0 +1,103 @@
+package com.example.englishwords.benchmark;
+
+import com.example.englishwords.entity.UserWordError;
+import com.example.englishwords.entity.Word;
+import com.example.englishwords.repository.UserWordErrorRepository;
+import com.example.englishwords.repository.WordRepository;
+import com.example.englishwords.service.LinearErrorWeightPolicy;
+import com.example.englishwords.service.UserErrorProfileCache;
+import com.example.englishwords.service.WordCatalog;
+import com.example.englishwords.service.WordService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 出题热点路径：随机选词和按错题加权选词
+ * 单词库规模 1k / 100k / 1M，错题档案密度 0 / 1% / 10%。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class WordSelectionBenchmark {
+
+    private static final int COUNT = 20;
+    private static final long USER_ID = 1L;
+
+    @Param({"1000", "100000", "1000000"})
+    public int bankSize;
+
+    @Param({"0", "0.01", "0.1"})
+    public double errorDensity;
+
+    private WordService wordService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        List<Word> bank = SyntheticData.wordBank(bankSize, random);
+        List<UserWordError> errors = SyntheticData.errorProfile(USER_ID, bankSize, errorDensity, random);
+
+        Map<String, Function<Object[], Object>> wordHandlers = SyntheticData.handlers();
+        wordHandlers.put("findAll", args -> bank);
+        WordCatalog catalog = new WordCatalog();
+        ReflectionTestUtils.setField(catalog, "wordRepository",
+                SyntheticData.repository(WordRepository.class, wordHandlers));
+        catalog.reload();
+
+        Map<String, Function<Object[], Object>> errorHandlers = SyntheticData.handlers();
+        errorHandlers.put("findByUserIdOrderByErrorCountDesc", args -> errors);
+        UserErrorProfileCache profileCache = new UserErrorProfileCache(1000, 3600);
+        ReflectionTestUtils.setField(profileCache, "userWordErrorRepository",
+                SyntheticData.repository(UserWordErrorRepository.class, errorHandlers));
+
+        wordService = new WordService();
+        ReflectionTestUtils.setField(wordService, "wordCatalog", catalog);
+        ReflectionTestUtils.setField(wordService, "errorProfileCache", profileCache);
+        ReflectionTestUtils.setField(wordService, "errorWeightPolicy", new LinearErrorWeightPolicy(2));
+    }
+
+    @Benchmark
+    public List<Word> randomWords() {
+        return wordService.getRandomWords(COUNT);
+    }
+
+    @Benchmark
+    public List<Word> randomWordsByGrade() {
+        return wordService.getRandomWordsByGrade(3, COUNT);
+    }
+
+    @Benchmark
+    public List<Word> randomWordsByGradeAndUnit() {
+        return wordService.getRandomWordsByGradeAndUnit(3, 2, COUNT);
+    }
+
+    @Benchmark
+    public List<Word> weightedRandomWordsByGrade() {
+        return wordService.getWeightedRandomWordsByGrade(USER_ID, 3, 0, COUNT);
+    }
+
+    @Benchmark
+    public List<Word> weightedRandomWordsByGradeAndUnit() {
+        return wordService.getWeightedRandomWordsByGrade(USER_ID, 3, 2, COUNT);
+    }
+}
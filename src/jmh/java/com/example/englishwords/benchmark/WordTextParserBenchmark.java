@@ -0,0 +1,170 @@
+package com.example.englishwords.benchmark;
+
+import com.example.englishwords.entity.Word;
+import com.example.englishwords.service.LegacyWordTextParser;
+import com.example.englishwords.service.WordTextParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OCR文本解析：单遍扫描的 WordTextParser 与原来基于正则的解析（LegacyWordTextParser）的对比，结果为每秒解析的行数
+ * recorded：课本单词表页面的OCR识别结果（含识别噪声）重复拼接而成；
+ * synthetic：合成的 "单词 释义"、"*单词 (词性) 释义"、带括号说明的行和噪声行。
+ * 准备阶段会检查两种实现的解析结果完全一致，不一致时直接失败。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WordTextParserBenchmark {
+
+    private static final int LINES = 500;
+
+    /**
+     * 单词表页面的OCR识别结果
+     */
+    private static final String[] RECORDED_PAGE = {
+            "Unit 3 Is this your pencil?",
+            "Section A",
+            "pencil /ˈpensl/ n. 铅笔",
+            "* pen 钢笔",
+            "book (books) 书",
+            "eraser /ɪˈreɪsə(r)/ n. 橡皮",
+            "box 盒；箱",
+            "pencil box 铅笔盒；文具盒",
+            "schoolbag n. 书包",
+            "dictionary（dictionaries）词典；字典",
+            "his 他的",
+            "mine pron. 我的",
+            "hers 她的",
+            "excuse me 劳驾；请原谅",
+            "thank（thanks）you 谢谢你",
+            "for 为了；因为",
+            "help v.& n. 帮助",
+            "*welcome 受欢迎的",
+            "You're welcome. 别客气。",
+            "baseball 棒球",
+            "watch 手表",
+            "computer game 电子游戏",
+            "ID card 身份证",
+            "key 钥匙",
+            "notebook 笔记本",
+            "ring (n.) 戒指",
+            "bag 袋；包",
+            "in 在……里",
+            "library 图书馆",
+            "ask（sb. for sth.）向（某人）请求（某物）",
+            "find（found）找到；发现",
+            "some 一些；某些",
+            "classroom 教室",
+            "e-mail 电子邮件",
+            "at（prep.）在（电子邮箱地址中）",
+            "call 打电话",
+            "lost 遗失；丢失",
+            "must 必须",
+            "set 一套；一副；一组",
+            "a set of 一套；一副",
+            "Section B",
+            "| 12 |  ",
+            "tape 磁带；胶带",
+            "ruler 尺；直尺",
+            "——   ——",
+            "  pencil-case 笔袋",
+            "\tcrayon 蜡笔",
+            "ping-pong 乒乓球",
+            "volleyball (n.) 排球；（sb.）",
+            "Tom 汤姆（男名）"
+    };
+
+    @Param({"recorded", "synthetic"})
+    public String corpus;
+
+    private final WordTextParser parser = new WordTextParser();
+    private final LegacyWordTextParser legacyParser = new LegacyWordTextParser();
+
+    private String text;
+
+    @Setup
+    public void setUp() {
+        text = "recorded".equals(corpus) ? recordedText() : syntheticText();
+        List<Word> expected = legacyParser.parse(text, 1, 1);
+        List<Word> actual = parser.parse(text, 1, 1);
+        if (expected.size() != actual.size()) {
+            throw new IllegalStateException("解析出的单词数不一致: " + expected.size() + " != " + actual.size());
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            Word e = expected.get(i);
+            Word a = actual.get(i);
+            if (!e.getEnglish().equals(a.getEnglish()) || !e.getChinese().equals(a.getChinese())) {
+                throw new IllegalStateException("第" + i + "个单词不一致: " + e.getEnglish() + " " + e.getChinese()
+                        + " != " + a.getEnglish() + " " + a.getChinese());
+            }
+        }
+    }
+
+    private static String recordedText() {
+        StringBuilder page = new StringBuilder();
+        for (int i = 0; i < LINES; i++) {
+            page.append(RECORDED_PAGE[i % RECORDED_PAGE.length]).append(i % 7 == 0 ? "\r\n" : "\n");
+        }
+        return page.toString();
+    }
+
+    private static String syntheticText() {
+        Random random = new Random(42);
+        StringBuilder page = new StringBuilder();
+        for (int i = 0; i < LINES; i++) {
+            String english = SyntheticData.englishWord(random);
+            String chinese = SyntheticData.chineseWord(random);
+            switch (i % 5) {
+                case 0:
+                    page.append(english).append(' ').append(chinese);
+                    break;
+                case 1:
+                    page.append("* ").append(english).append(" (n.) ").append(chinese);
+                    break;
+                case 2:
+                    page.append(english).append("（").append(english).append("s）").append(chinese).append("；")
+                            .append(SyntheticData.chineseWord(random));
+                    break;
+                case 3:
+                    page.append(english).append(' ').append(SyntheticData.englishWord(random)).append("  ")
+                            .append(chinese).append(" (sb.)");
+                    break;
+                default:
+                    page.append("Unit ").append(i).append(" | ").append(random.nextInt(1000));
+                    break;
+            }
+            page.append('\n');
+        }
+        return page.toString();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public List<Word> parse() {
+        return parser.parse(text, 1, 1);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public List<Word> legacyParse() {
+        return legacyParser.parse(text, 1, 1);
+    }
+}
@@ -41,6 +41,8 @@ public class SecurityConfig {
             .authorizeRequests(authz -> authz
                 .antMatchers("/api/user/register", "/api/user/login", "/api/user/test-password").permitAll()
                 .antMatchers("/api/test/**").permitAll()
+                // 批量识别一次可上传 200MB 且整体读入内存，只对登录用户开放
+                .antMatchers("/api/word-upload/batch-recognize").authenticated()
                 .antMatchers("/api/word-upload/**").permitAll()
                 .antMatchers("/api/admin/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
@@ -2,17 +2,33 @@ package com.example.englishwords.controller;
 
 import com.example.englishwords.entity.User;
 import com.example.englishwords.entity.Word;
+import com.example.englishwords.service.DataExportService;
+import com.example.englishwords.service.OcrResultCache;
+import com.example.englishwords.service.TesseractPool;
 import com.example.englishwords.service.UserService;
+import com.example.englishwords.service.WordImportService;
+import com.example.englishwords.service.WordImportService.ImportJob;
 import com.example.englishwords.service.WordService;
+import com.example.englishwords.util.KeysetPage;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -26,14 +42,38 @@ public class AdminController {
     
     @Autowired
     private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private TesseractPool tesseractPool;
+    
+    @Autowired
+    private OcrResultCache ocrResultCache;
+    
+    @Autowired
+    private WordImportService wordImportService;
+    
+    @Autowired
+    private DataExportService dataExportService;
 
-    // 获取所有用户
+    // 获取用户，按ID升序键集分页：cursor 为上一页返回的 nextCursor，size 默认50、最多200
     @GetMapping("/users")
-    public ResponseEntity<Map<String, Object>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
+    public ResponseEntity<Map<String, Object>> getAllUsers(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
         Map<String, Object> response = new HashMap<>();
+        int pageSize = KeysetPage.clampSize(size);
+        KeysetPage<User> page;
+        try {
+            page = userService.getUsersPage(cursor, pageSize);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
         response.put("success", true);
-        response.put("data", users);
+        response.put("data", page.getItems());
+        response.put("size", pageSize);
+        response.put("nextCursor", page.getNextCursor());
         return ResponseEntity.ok(response);
     }
     
@@ -195,8 +235,15 @@ public class AdminController {
     // 添加单词
     @PostMapping("/word")
     public ResponseEntity<Map<String, Object>> addWord(@RequestBody Word word) {
-        Word savedWord = wordService.addWord(word);
         Map<String, Object> response = new HashMap<>();
+        Word savedWord;
+        try {
+            savedWord = wordService.addWord(word);
+        } catch (IllegalStateException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.ok(response);
+        }
         response.put("success", true);
         response.put("data", savedWord);
         return ResponseEntity.ok(response);
@@ -205,8 +252,15 @@ public class AdminController {
     // 更新单词
     @PutMapping("/word/{id}")
     public ResponseEntity<Map<String, Object>> updateWord(@PathVariable Long id, @RequestBody Word word) {
-        Word updatedWord = wordService.updateWord(id, word);
         Map<String, Object> response = new HashMap<>();
+        Word updatedWord;
+        try {
+            updatedWord = wordService.updateWord(id, word);
+        } catch (IllegalStateException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.ok(response);
+        }
         if (updatedWord != null) {
             response.put("success", true);
             response.put("data", updatedWord);
@@ -231,4 +285,120 @@ public class AdminController {
         }
         return ResponseEntity.ok(response);
     }
+    
+    // 获取OCR运行指标（引擎池排队等待时间、识别耗时，结果缓存命中率等）
+    @GetMapping("/ocr-stats")
+    public ResponseEntity<Map<String, Object>> getOcrStats() {
+        Map<String, Object> data = new LinkedHashMap<>(tesseractPool.getStats());
+        data.put("cache", ocrResultCache.getStats());
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", data);
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * 从 CSV/TSV 文件导入单词（UTF-8，列顺序为 英文,中文,年级,单元，或带表头）
+     * 导入在后台执行，通过 /word-import/{jobId} 查询进度，结束后从 /word-import/{jobId}/errors 下载未导入的行
+     * @param file CSV 或 TSV 文件
+     * @param grade 文件中没有年级时使用的年级（可选）
+     * @param unit 文件中没有单元时使用的单元（可选）
+     */
+    @PostMapping("/word-import")
+    public ResponseEntity<Map<String, Object>> importWords(
+            @RequestParam(value = "file", required = false) MultipartFile file,
+            @RequestParam(value = "grade", required = false) Integer grade,
+            @RequestParam(value = "unit", required = false) Integer unit) {
+        Map<String, Object> response = new HashMap<>();
+        if (file == null || file.isEmpty()) {
+            response.put("success", false);
+            response.put("message", "请选择要导入的CSV或TSV文件");
+            return ResponseEntity.badRequest().body(response);
+        }
+        try {
+            ImportJob job = wordImportService.submit(file, grade, unit);
+            response.put("success", true);
+            response.put("message", "导入任务已提交");
+            response.put("data", wordImportService.toMap(job));
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (RejectedExecutionException e) {
+            response.put("success", false);
+            response.put("message", "导入任务过多，请稍后重试");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        } catch (IOException e) {
+            response.put("success", false);
+            response.put("message", "文件读取失败: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
+    // 查询单词导入进度
+    @GetMapping("/word-import/{jobId}")
+    public ResponseEntity<Map<String, Object>> getImportJob(@PathVariable String jobId) {
+        Map<String, Object> response = new HashMap<>();
+        ImportJob job = wordImportService.getJob(jobId);
+        if (job == null) {
+            response.put("success", false);
+            response.put("message", "导入任务不存在或已过期");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        response.put("success", true);
+        response.put("data", wordImportService.toMap(job));
+        return ResponseEntity.ok(response);
+    }
+    
+    // 下载导入的逐行错误文件（CSV：行号、英文、中文、年级、单元、原因）
+    @GetMapping("/word-import/{jobId}/errors")
+    public ResponseEntity<Resource> downloadImportErrors(@PathVariable String jobId) {
+        ImportJob job = wordImportService.getJob(jobId);
+        if (job == null || !job.getStatus().isFinished() || job.getErrorFile() == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"word-import-errors-" + jobId + ".csv\"")
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(new FileSystemResource(job.getErrorFile()));
+    }
+    
+    /**
+     * 流式导出单词库（words）、考试记录（exam-records）或错题记录（word-errors）
+     * 逐行从数据库游标读取并写出，不在内存中组装整张表；同时进行的导出数有上限，超出时返回503
+     * @param table 导出的表
+     * @param format ndjson（默认）或 csv
+     * @param userId 只导出该用户的考试记录或错题记录（可选）
+     */
+    @GetMapping("/export/{table}")
+    public ResponseEntity<?> export(@PathVariable String table,
+                                    @RequestParam(value = "format", defaultValue = "ndjson") String format,
+                                    @RequestParam(value = "userId", required = false) Long userId) {
+        DataExportService.Table exportTable = DataExportService.Table.of(table);
+        DataExportService.Format exportFormat = DataExportService.Format.of(format);
+        if (exportTable == null || exportFormat == null) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", exportTable == null
+                    ? "不支持导出: " + table + "（可选 words、exam-records、word-errors）"
+                    : "不支持的格式: " + format + "（可选 ndjson、csv）");
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(response);
+        }
+        if (!dataExportService.tryAcquire()) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "导出任务过多，请稍后重试");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).contentType(MediaType.APPLICATION_JSON).body(response);
+        }
+        StreamingResponseBody body = outputStream -> {
+            try {
+                dataExportService.export(exportTable, exportFormat, userId, outputStream);
+            } finally {
+                dataExportService.release();
+            }
+        };
+        String fileName = exportTable.getFileName() + (userId != null && exportTable.hasUserColumn() ? "-" + userId : "")
+                + "." + exportFormat.getExtension();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .body(body);
+    }
 }
\ No newline at end of file
@@ -1,15 +1,21 @@
 package com.example.englishwords.controller;
 
 import com.example.englishwords.entity.ExamRecord;
+import com.example.englishwords.entity.User;
 import com.example.englishwords.entity.UserWordError;
 import com.example.englishwords.entity.Word;
 import com.example.englishwords.service.ExamService;
+import com.example.englishwords.service.ExamSessionStore;
+import com.example.englishwords.service.UserService;
+import com.example.englishwords.util.KeysetPage;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import javax.servlet.http.HttpSession;
 import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/exam")
@@ -18,40 +24,72 @@ public class ExamController {
     @Autowired
     private ExamService examService;
     
+    @Autowired
+    private UserService userService;
+    
+    /**
+     * 生成试卷，考试会话绑定到当前登录用户（请求中的 userId 不再使用）
+     */
     @PostMapping("/generate")
-    public ResponseEntity<Map<String, Object>> generateExamPaper(@RequestBody Map<String, Integer> request) {
+    public ResponseEntity<Map<String, Object>> generateExamPaper(@RequestBody Map<String, Integer> request,
+                                                                 Authentication authentication) {
+        Optional<User> user = userService.getUserByUsername(authentication.getName());
+        if (!user.isPresent()) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "用户不存在");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        }
         int count = request.getOrDefault("count", 10);
         List<Word> examWords = examService.generateExamPaper(count);
         
-        // 将试卷存储在session中（实际项目中可能需要更复杂的处理）
+        // 在服务端创建考试会话，提交时只需带回会话ID和答案
+        ExamSessionStore.ExamSession session =
+                examService.startExamSession(user.get().getId(), authentication.getName(), examWords);
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
         response.put("data", examWords);
+        response.put("sessionId", session.getId());
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * 提交答案
+     * 格式: {"sessionId": "...", "answers": {"单词ID": "答案"}}，会话只能由生成试卷的登录用户提交
+     * 不再接受不带 sessionId、由客户端带回 examWords 的旧格式：客户端可以自带答案骗取积分
+     */
     @PostMapping("/submit")
-    public ResponseEntity<Map<String, Object>> submitExam(@RequestBody Map<String, Object> request, HttpSession session) {
-        Long userId = ((Number) request.get("userId")).longValue();
+    public ResponseEntity<Map<String, Object>> submitExam(@RequestBody Map<String, Object> request,
+                                                          Authentication authentication) {
+        String sessionId = (String) request.get("sessionId");
+        if (sessionId == null) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "缺少考试会话，请重新生成试卷");
+            return ResponseEntity.badRequest().body(response);
+        }
         Map<String, Object> answersObj = (Map<String, Object>) request.get("answers");
         // Convert Map<String, Object> to Map<Long, String>
         Map<Long, String> answers = new HashMap<>();
         for (Map.Entry<String, Object> entry : answersObj.entrySet()) {
             answers.put(Long.valueOf(entry.getKey()), (String) entry.getValue());
         }
-        List<Map<String, Object>> examWordsData = (List<Map<String, Object>>) request.get("examWords");
         
-        // 转换examWords数据
-        List<Word> examWords = new ArrayList<>();
-        for (Map<String, Object> wordData : examWordsData) {
-            Word word = new Word();
-            word.setId(((Number) wordData.get("id")).longValue());
-            word.setEnglish((String) wordData.get("english"));
-            word.setChinese((String) wordData.get("chinese"));
-            examWords.add(word);
+        Map<String, Object> result;
+        try {
+            result = examService.submitExam(authentication.getName(), answers, sessionId);
+        } catch (RejectedExecutionException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "提交人数过多，请稍后重试");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        }
+        if (result == null) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "考试不存在或已过期，请重新生成试卷");
+            return ResponseEntity.badRequest().body(response);
         }
-        
-        Map<String, Object> result = examService.submitExam(userId, answers, examWords);
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -59,12 +97,30 @@ public class ExamController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * 获取用户的考试记录，按 (创建时间, ID) 倒序键集分页
+     * @param cursor 上一页返回的 nextCursor，第一页不传；nextCursor 为null表示没有更多数据
+     * @param size 每页条数，默认50，最多200
+     */
     @GetMapping("/records/{userId}")
-    public ResponseEntity<Map<String, Object>> getUserExamRecords(@PathVariable Long userId) {
-        List<ExamRecord> records = examService.getUserExamRecords(userId);
+    public ResponseEntity<Map<String, Object>> getUserExamRecords(
+            @PathVariable Long userId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
         Map<String, Object> response = new HashMap<>();
+        int pageSize = KeysetPage.clampSize(size);
+        KeysetPage<ExamRecord> page;
+        try {
+            page = examService.getUserExamRecordsPage(userId, cursor, pageSize);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
         response.put("success", true);
-        response.put("data", records);
+        response.put("data", page.getItems());
+        response.put("size", pageSize);
+        response.put("nextCursor", page.getNextCursor());
         return ResponseEntity.ok(response);
     }
     
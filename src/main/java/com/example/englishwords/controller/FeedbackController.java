@@ -4,6 +4,7 @@ import com.example.englishwords.entity.Word;
 import com.example.englishwords.entity.WordFeedback;
 import com.example.englishwords.service.WordFeedbackService;
 import com.example.englishwords.service.WordService;
+import com.example.englishwords.util.KeysetPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -54,17 +55,24 @@ public class FeedbackController {
     }
     
     /**
-     * 获取所有反馈（管理员）
+     * 获取所有反馈（管理员），按 (创建时间, ID) 倒序键集分页
+     * @param cursor 上一页返回的 nextCursor，第一页不传；nextCursor 为null表示没有更多数据
+     * @param size 每页条数，默认50，最多200
      */
     @GetMapping("/all")
-    public ResponseEntity<Map<String, Object>> getAllFeedbacks() {
+    public ResponseEntity<Map<String, Object>> getAllFeedbacks(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            List<WordFeedback> feedbacks = feedbackService.getAllFeedbacks();
+            int pageSize = KeysetPage.clampSize(size);
+            KeysetPage<WordFeedback> page = feedbackService.getFeedbacksPage(cursor, pageSize);
             response.put("success", true);
-            response.put("data", feedbacks);
-            response.put("count", feedbacks.size());
+            response.put("data", page.getItems());
+            response.put("count", page.getItems().size());
+            response.put("size", pageSize);
+            response.put("nextCursor", page.getNextCursor());
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             response.put("success", false);
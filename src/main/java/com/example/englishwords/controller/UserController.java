@@ -79,7 +79,7 @@ public class UserController {
             }
         }
 
-        String token = jwtUtil.generateToken(user.getUsername());
+        String token = jwtUtil.generateToken(user.getUsername(), user.getRole());
 
         Map<String, Object> userData = new HashMap<>();
         userData.put("id", user.getId());
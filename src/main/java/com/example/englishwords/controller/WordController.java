@@ -1,7 +1,9 @@
 package com.example.englishwords.controller;
 
 import com.example.englishwords.entity.Word;
+import com.example.englishwords.service.WordSearchIndex;
 import com.example.englishwords.service.WordService;
+import com.example.englishwords.util.KeysetPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,12 +21,29 @@ public class WordController {
     @Autowired
     private WordService wordService;
     
+    /**
+     * 获取单词，按ID升序键集分页
+     * @param cursor 上一页返回的 nextCursor，第一页不传；nextCursor 为null表示没有更多数据
+     * @param size 每页条数，默认50，最多200
+     */
     @GetMapping("/")
-    public ResponseEntity<Map<String, Object>> getAllWords() {
-        List<Word> words = wordService.getAllWords();
+    public ResponseEntity<Map<String, Object>> getAllWords(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
         Map<String, Object> response = new HashMap<>();
+        int pageSize = KeysetPage.clampSize(size);
+        KeysetPage<Word> page;
+        try {
+            page = wordService.getWordsPage(cursor, pageSize);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
         response.put("success", true);
-        response.put("data", words);
+        response.put("data", page.getItems());
+        response.put("size", pageSize);
+        response.put("nextCursor", page.getNextCursor());
         return ResponseEntity.ok(response);
     }
     
@@ -47,8 +66,15 @@ public class WordController {
     @PostMapping("/")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Map<String, Object>> createWord(@RequestBody Word word) {
-        Word savedWord = wordService.saveWord(word);
         Map<String, Object> response = new HashMap<>();
+        Word savedWord;
+        try {
+            savedWord = wordService.saveWord(word);
+        } catch (IllegalStateException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.ok(response);
+        }
         response.put("success", true);
         response.put("message", "单词创建成功");
         response.put("data", savedWord);
@@ -58,8 +84,15 @@ public class WordController {
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Map<String, Object>> updateWord(@PathVariable Long id, @RequestBody Word wordDetails) {
-        Word updatedWord = wordService.updateWord(id, wordDetails);
         Map<String, Object> response = new HashMap<>();
+        Word updatedWord;
+        try {
+            updatedWord = wordService.updateWord(id, wordDetails);
+        } catch (IllegalStateException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.ok(response);
+        }
         
         if (updatedWord != null) {
             response.put("success", true);
@@ -84,11 +117,20 @@ public class WordController {
     }
     
     @GetMapping("/search")
-    public ResponseEntity<Map<String, Object>> searchWords(@RequestParam String keyword) {
-        List<Word> words = wordService.searchWords(keyword);
+    public ResponseEntity<Map<String, Object>> searchWords(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        int pageSize = Math.min(Math.max(size, 1), 500);
+        // 按 long 计算偏移量，页码过大时不会溢出成负数而返回第一页
+        int offset = (int) Math.min((long) Math.max(page, 0) * pageSize, Integer.MAX_VALUE);
+        WordSearchIndex.Page result = wordService.searchWords(keyword, offset, pageSize);
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
-        response.put("data", words);
+        response.put("data", result.getWords());
+        response.put("total", result.getTotal());
+        response.put("page", Math.max(page, 0));
+        response.put("size", pageSize);
         return ResponseEntity.ok(response);
     }
     
@@ -2,6 +2,7 @@ package com.example.englishwords.controller;
 
 import com.example.englishwords.entity.WordSubmission;
 import com.example.englishwords.service.WordSubmissionService;
+import com.example.englishwords.util.KeysetPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -56,15 +57,29 @@ public class WordSubmissionController {
     }
     
     /**
-     * 管理员获取待审批的单词
+     * 管理员获取待审批的单词，按 (提交时间, ID) 升序键集分页
+     * @param cursor 上一页返回的 nextCursor，第一页不传；nextCursor 为null表示没有更多数据
+     * @param size 每页条数，默认50，最多200
      */
     @GetMapping("/pending")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Map<String, Object>> getPendingSubmissions() {
-        List<WordSubmission> submissions = submissionService.getPendingSubmissions();
+    public ResponseEntity<Map<String, Object>> getPendingSubmissions(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
         Map<String, Object> response = new HashMap<>();
+        int pageSize = KeysetPage.clampSize(size);
+        KeysetPage<WordSubmission> page;
+        try {
+            page = submissionService.getPendingSubmissionsPage(cursor, pageSize);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
         response.put("success", true);
-        response.put("data", submissions);
+        response.put("data", page.getItems());
+        response.put("size", pageSize);
+        response.put("nextCursor", page.getNextCursor());
         return ResponseEntity.ok(response);
     }
     
@@ -77,8 +92,15 @@ public class WordSubmissionController {
             @PathVariable Long id,
             @RequestBody Map<String, String> request) {
         String adminRemark = request.getOrDefault("adminRemark", "");
-        WordSubmission submission = submissionService.approveSubmission(id, adminRemark);
         Map<String, Object> response = new HashMap<>();
+        WordSubmission submission;
+        try {
+            submission = submissionService.approveSubmission(id, adminRemark);
+        } catch (IllegalStateException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.ok(response);
+        }
         if (submission != null) {
             response.put("success", true);
             response.put("message", "单词已批准并添加到数据库");
@@ -171,6 +193,7 @@ public class WordSubmissionController {
         response.put("message", String.format("成功批准 %d 个单词，失败 %d 个", successCount, failCount));
         response.put("successCount", successCount);
         response.put("failCount", failCount);
+        response.put("duplicateWords", result.get("duplicateWords"));
         return ResponseEntity.ok(response);
     }
     
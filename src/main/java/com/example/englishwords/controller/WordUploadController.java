@@ -1,33 +1,59 @@
 package com.example.englishwords.controller;
 
 import com.example.englishwords.entity.Word;
+import com.example.englishwords.service.BatchOcrService;
+import com.example.englishwords.service.BatchOcrService.Page;
+import com.example.englishwords.service.OcrJobService;
+import com.example.englishwords.service.OcrJobStore.OcrJob;
 import com.example.englishwords.service.OcrService;
 import com.example.englishwords.service.WordService;
+import com.example.englishwords.service.WordTextParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import net.sourceforge.tess4j.TesseractException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/word-upload")
 public class WordUploadController {
     
+    private static final Logger logger = LoggerFactory.getLogger(WordUploadController.class);
+    
     @Autowired
     private OcrService ocrService;
     
     @Autowired
     private WordService wordService;
     
+    @Autowired
+    private WordTextParser wordTextParser;
+    
+    @Autowired
+    private OcrJobService ocrJobService;
+    
+    @Autowired
+    private BatchOcrService batchOcrService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     /**
      * 上传图片并识别其中的单词
      * @param image 图片文件
@@ -70,18 +96,15 @@ public class WordUploadController {
             String extractedText = ocrService.extractTextFromImage(image, "eng+chi_sim");
             
             // 解析识别出的文本，提取英语单词和中文翻译
-            List<Word> words = parseWordsFromText(extractedText, grade, unit);
+            List<Word> words = wordTextParser.parse(extractedText, grade, unit);
             
-            // 保存单词到数据库
-            List<Word> savedWords = new ArrayList<>();
-            for (Word word : words) {
-                Word savedWord = wordService.addWord(word);
-                savedWords.add(savedWord);
-            }
+            // 在一个事务中批量保存单词到数据库
+            WordService.BulkResult result = wordService.addWords(words);
             
             response.put("success", true);
             response.put("message", "单词上传并识别成功");
-            response.put("data", savedWords);
+            response.put("data", result.getSaved());
+            response.put("failures", result.getFailures());
             response.put("extractedText", extractedText);
             
             return ResponseEntity.ok(response);
@@ -101,120 +124,6 @@ public class WordUploadController {
         }
     }
     
-    /**
-     * 解析文本中的单词对
-     * 支持格式：
-     * 1. 英语单词 中文释义
-     * 2. *英语单词 中文释义
-     * 3. 英语单词（括号内容）中文释义
-     * @param text 文本内容
-     * @param grade 年级
-     * @param unit 单元
-     * @return 单词列表
-     */
-    private List<Word> parseWordsFromText(String text, Integer grade, Integer unit) {
-        List<Word> words = new ArrayList<>();
-        
-        // 按行分割文本
-        String[] lines = text.split("\\n");
-        
-        for (String line : lines) {
-            line = line.trim();
-            if (line.isEmpty()) continue;
-            
-            // 移除行首的*号和其他特殊字符
-            line = line.replaceAll("^[*\\s]+", "");
-            
-            // 尝试提取英语单词和中文释义
-            Word word = extractWordFromLine(line, grade, unit);
-            
-            if (word != null && isValidWord(word)) {
-                words.add(word);
-            }
-        }
-        
-        return words;
-    }
-    
-    /**
-     * 从单行文本中提取单词和释义
-     */
-    private Word extractWordFromLine(String line, Integer grade, Integer unit) {
-        // 匹配英语单词（可能包含括号内的内容如复数形式）后面跟着中文
-        // 格式: 英语单词 中文释义 或 英语单词（说明）中文释义
-        
-        // 先尝试找到第一个中文字符的位置
-        int chineseStart = -1;
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            if (isChinese(c)) {
-                chineseStart = i;
-                break;
-            }
-        }
-        
-        if (chineseStart <= 0) {
-            return null;
-        }
-        
-        // 提取英语部分（中文之前的内容）
-        String englishPart = line.substring(0, chineseStart).trim();
-        // 提取中文部分
-        String chinesePart = line.substring(chineseStart).trim();
-        
-        // 清理英语部分 - 只保留主要单词，移除括号内容
-        englishPart = englishPart.replaceAll("[（\\(][^）\\)]*[）\\)]", "").trim();
-        // 只保留字母、连字符和空格
-        englishPart = englishPart.replaceAll("[^a-zA-Z\\s-]", "").trim();
-        // 如果有多个空格，只保留一个
-        englishPart = englishPart.replaceAll("\\s+", " ");
-        
-        // 清理中文部分 - 移除括号内的英文说明
-        chinesePart = chinesePart.replaceAll("[（\\(][a-zA-Z][^）\\)]*[）\\)]", "").trim();
-        // 移除英文字符
-        StringBuilder cleanChinese = new StringBuilder();
-        for (char c : chinesePart.toCharArray()) {
-            if (isChinese(c) || c == '；' || c == '，' || c == '、') {
-                cleanChinese.append(c);
-            }
-        }
-        chinesePart = cleanChinese.toString().trim();
-        
-        if (englishPart.isEmpty() || chinesePart.isEmpty()) {
-            return null;
-        }
-        
-        Word word = new Word();
-        word.setEnglish(englishPart);
-        word.setChinese(chinesePart);
-        word.setGrade(grade);
-        word.setUnit(unit);
-        word.setCreatedAt(LocalDateTime.now());
-        word.setUpdatedAt(LocalDateTime.now());
-        
-        return word;
-    }
-    
-    /**
-     * 判断字符是否是中文字符
-     */
-    private boolean isChinese(char c) {
-        // Unicode范围：中文基本区
-        return c >= 0x4E00 && c <= 0x9FFF;
-    }
-    
-    /**
-     * 验证单词是否有效
-     * @param word 单词对象
-     * @return 是否有效
-     */
-    private boolean isValidWord(Word word) {
-        return word.getEnglish() != null && !word.getEnglish().isEmpty() &&
-               word.getChinese() != null && !word.getChinese().isEmpty() &&
-               word.getEnglish().length() > 1 && word.getEnglish().length() < 50 &&
-               word.getChinese().length() > 1 && word.getChinese().length() < 50;
-    }
-    
     /**
      * 只识别不保存 - 用于前端编辑后再保存
      * @param image 图片文件
@@ -228,7 +137,7 @@ public class WordUploadController {
             @RequestParam("grade") Integer grade,
             @RequestParam("unit") Integer unit) {
         
-        System.out.println("=== RECOGNIZE ONLY REQUEST RECEIVED ===");
+        logger.debug("收到仅识别请求, grade: {}, unit: {}", grade, unit);
         
         Map<String, Object> response = new HashMap<>();
         
@@ -256,7 +165,7 @@ public class WordUploadController {
             String extractedText = ocrService.extractTextFromImage(image, "eng+chi_sim");
             
             // 解析识别出的文本，提取英语单词和中文翻译
-            List<Word> words = parseWordsFromText(extractedText, grade, unit);
+            List<Word> words = wordTextParser.parse(extractedText, grade, unit);
             
             // 不保存到数据库，直接返回识别结果
             response.put("success", true);
@@ -281,6 +190,190 @@ public class WordUploadController {
         }
     }
     
+    /**
+     * 提交异步识别任务，立即返回任务ID
+     * 识别在后台线程池中执行，通过 /jobs/{jobId} 轮询或 /jobs/{jobId}/events 订阅结果
+     * @param image 图片文件
+     * @param grade 年级
+     * @param unit 单元
+     * @param save 识别完成后是否直接保存单词（默认只识别）
+     * @return 任务ID和初始状态
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<Map<String, Object>> submitJob(
+            @RequestParam(value = "image", required = false) MultipartFile image,
+            @RequestParam("grade") Integer grade,
+            @RequestParam("unit") Integer unit,
+            @RequestParam(value = "save", defaultValue = "false") boolean save) {
+        
+        Map<String, Object> response = new HashMap<>();
+        
+        if (grade == null || unit == null) {
+            response.put("success", false);
+            response.put("message", "年级和单元不能为空");
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        if (image == null || image.isEmpty()) {
+            response.put("success", false);
+            response.put("message", "请选择要上传的图片文件");
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        String contentType = image.getContentType();
+        if (contentType == null || (!contentType.startsWith("image/"))) {
+            response.put("success", false);
+            response.put("message", "请上传有效的图片文件");
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        try {
+            OcrJob job = ocrJobService.submit(image.getBytes(), grade, unit, save);
+            response.put("success", true);
+            response.put("message", "识别任务已提交");
+            response.put("data", ocrJobService.toMap(job));
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (RejectedExecutionException e) {
+            response.put("success", false);
+            response.put("message", "识别任务过多，请稍后重试");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        } catch (IOException e) {
+            response.put("success", false);
+            response.put("message", "图片读取失败: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
+    /**
+     * 查询识别任务状态（轮询）
+     * @param jobId 任务ID
+     * @return 任务状态，成功时包含解析出的单词
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<Map<String, Object>> getJob(@PathVariable String jobId) {
+        Map<String, Object> response = new HashMap<>();
+        OcrJob job = ocrJobService.getJob(jobId);
+        if (job == null) {
+            response.put("success", false);
+            response.put("message", "识别任务不存在或已过期");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        response.put("success", true);
+        response.put("data", ocrJobService.toMap(job));
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * 通过 SSE 订阅识别任务状态，任务结束后服务端关闭连接
+     * @param jobId 任务ID
+     */
+    @GetMapping(value = "/jobs/{jobId}/events", produces = "text/event-stream")
+    public ResponseEntity<SseEmitter> subscribeJob(@PathVariable String jobId) {
+        OcrJob job = ocrJobService.getJob(jobId);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(ocrJobService.subscribe(job));
+    }
+    
+    /**
+     * 批量识别多张图片或多页TIFF（只识别不保存，需要登录）
+     * 以 NDJSON 流式返回：每识别完一页输出一行 {"type":"page",...}（按完成顺序），
+     * 最后输出一行 {"type":"summary",...}，data 为按页码顺序合并、按英文去重后的单词
+     * @param images 图片文件，可包含多页TIFF
+     * @param grade 年级
+     * @param unit 单元
+     */
+    @PostMapping(value = "/batch-recognize", produces = "application/x-ndjson")
+    public ResponseEntity<?> batchRecognize(
+            @RequestParam(value = "images", required = false) List<MultipartFile> images,
+            @RequestParam("grade") Integer grade,
+            @RequestParam("unit") Integer unit) {
+        
+        Map<String, Object> response = new HashMap<>();
+        
+        if (grade == null || unit == null) {
+            response.put("success", false);
+            response.put("message", "年级和单元不能为空");
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(response);
+        }
+        
+        if (images == null || images.isEmpty()) {
+            response.put("success", false);
+            response.put("message", "请选择要上传的图片文件");
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(response);
+        }
+        
+        List<Page> pages;
+        try {
+            LinkedHashMap<String, byte[]> files = new LinkedHashMap<>();
+            int index = 0;
+            for (MultipartFile image : images) {
+                index++;
+                String contentType = image.getContentType();
+                if (image.isEmpty() || contentType == null || !contentType.startsWith("image/")) {
+                    response.put("success", false);
+                    response.put("message", "第 " + index + " 个文件不是有效的图片文件");
+                    return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(response);
+                }
+                // 同名文件加序号区分
+                String name = image.getOriginalFilename() != null ? image.getOriginalFilename() : "image";
+                files.put(files.containsKey(name) ? name + "#" + index : name, image.getBytes());
+            }
+            pages = batchOcrService.expand(files);
+        } catch (IOException e) {
+            response.put("success", false);
+            response.put("message", "图片读取失败: " + e.getMessage());
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(response);
+        }
+        
+        final List<Page> batch = pages;
+        StreamingResponseBody body = outputStream -> {
+            long start = System.currentTimeMillis();
+            int[] failed = new int[1];
+            List<Word> merged;
+            try {
+                merged = batchOcrService.recognize(batch, grade, unit, result -> {
+                    Map<String, Object> line = new LinkedHashMap<>();
+                    line.put("type", "page");
+                    line.put("page", result.getPage().getNumber());
+                    line.put("file", result.getPage().getFileName());
+                    line.put("success", result.isSuccess());
+                    if (result.isSuccess()) {
+                        line.put("data", result.getWords());
+                        line.put("elapsedMs", result.getElapsedMillis());
+                    } else {
+                        failed[0]++;
+                        line.put("message", result.getMessage());
+                    }
+                    writeLine(outputStream, line);
+                });
+            } catch (UncheckedIOException e) {
+                // 客户端已断开
+                throw e.getCause();
+            }
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("type", "summary");
+            summary.put("success", failed[0] < batch.size());
+            summary.put("pages", batch.size());
+            summary.put("failedPages", failed[0]);
+            summary.put("elapsedMs", System.currentTimeMillis() - start);
+            summary.put("data", merged);
+            writeLine(outputStream, summary);
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+    }
+    
+    private void writeLine(OutputStream outputStream, Map<String, Object> line) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(line));
+            outputStream.write('\n');
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
     /**
      * 批量保存单词
      * @param words 单词列表
@@ -297,22 +390,14 @@ public class WordUploadController {
                 return ResponseEntity.badRequest().body(response);
             }
             
-            List<Word> savedWords = new ArrayList<>();
-            for (Word word : words) {
-                // 设置创建和更新时间
-                word.setCreatedAt(LocalDateTime.now());
-                word.setUpdatedAt(LocalDateTime.now());
-                
-                // 验证单词是否有效
-                if (isValidWord(word)) {
-                    Word savedWord = wordService.addWord(word);
-                    savedWords.add(savedWord);
-                }
-            }
+            // 无效的单词不保存，在 failures 中返回下标和原因
+            WordService.BulkResult result = wordService.addWords(words);
             
             response.put("success", true);
-            response.put("message", "成功保存 " + savedWords.size() + " 个单词");
-            response.put("data", savedWords);
+            response.put("message", "成功保存 " + result.getSaved().size() + " 个单词"
+                    + (result.getFailures().isEmpty() ? "" : "，" + result.getFailures().size() + " 个单词未保存"));
+            response.put("data", result.getSaved());
+            response.put("failures", result.getFailures());
             
             return ResponseEntity.ok(response);
             
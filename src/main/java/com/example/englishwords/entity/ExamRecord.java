@@ -30,6 +30,6 @@ public class ExamRecord {
     @Column(name = "exam_time_seconds", nullable = false)
     private Integer examTimeSeconds;
     
-    @Column(name = "created_at")
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 }
\ No newline at end of file
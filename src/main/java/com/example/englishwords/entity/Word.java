@@ -1,6 +1,11 @@
 package com.example.englishwords.entity;
 
+import com.example.englishwords.util.WordNormalizer;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
@@ -8,13 +13,32 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "word")
 public class Word {
+    /**
+     * ID从 id_generator 表按块分配（每次取50个），插入时不依赖自增列，Hibernate 才能批量执行 INSERT
+     * word.id 不是自增列，单词只能通过应用插入；已有数据库需先执行 db/upgrade.sql 建表并设置起始ID
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "word_id")
+    @GenericGenerator(name = "word_id", strategy = "org.hibernate.id.enhanced.TableGenerator", parameters = {
+            @Parameter(name = "table_name", value = "id_generator"),
+            @Parameter(name = "segment_column_name", value = "name"),
+            @Parameter(name = "segment_value", value = "word"),
+            @Parameter(name = "value_column_name", value = "next_val"),
+            @Parameter(name = "increment_size", value = "50"),
+            @Parameter(name = "optimizer", value = "pooled-lo")
+    })
     private Long id;
     
     @Column(nullable = false)
     private String english;
     
+    /**
+     * 英文的规范形式（见 WordNormalizer.normalizeEnglish），保存时自动生成，列上有唯一约束用于查重
+     */
+    @JsonIgnore
+    @Column(name = "english_norm")
+    private String englishNorm;
+    
     @Column(nullable = false)
     private String chinese;
     
@@ -41,4 +65,10 @@ public class Word {
     
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
-}
\ No newline at end of file
+    
+    @PrePersist
+    @PreUpdate
+    void normalizeEnglish() {
+        englishNorm = WordNormalizer.normalizeEnglish(english);
+    }
+}
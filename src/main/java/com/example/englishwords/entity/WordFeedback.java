@@ -74,7 +74,7 @@ public class WordFeedback {
     /**
      * 创建时间
      */
-    @Column(name = "created_at")
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
     
     /**
@@ -36,7 +36,7 @@ public class WordSubmission {
     @Column(name = "admin_remark", columnDefinition = "TEXT")
     private String adminRemark; // 管理员审批意见
     
-    @Column(name = "submitted_at")
+    @Column(name = "submitted_at", nullable = false)
     private LocalDateTime submittedAt;
     
     @Column(name = "reviewed_at")
@@ -3,6 +3,11 @@ package com.example.englishwords.filter;
 import com.example.englishwords.entity.User;
 import com.example.englishwords.repository.UserRepository;
 import com.example.englishwords.util.JwtUtil;
+import com.example.englishwords.util.VerifiedTokenCache;
+import com.example.englishwords.util.VerifiedTokenCache.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -20,60 +25,41 @@ import java.io.IOException;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
+    // 父类 GenericFilterBean 已有名为 logger 的字段
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+    
     @Autowired
     private JwtUtil jwtUtil;
     
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         
         // 跳过不需要认证的公共接口
         String requestURI = request.getRequestURI();
-        System.out.println("Request URI: " + requestURI);
         if (requestURI.equals("/api/user/register") || requestURI.equals("/api/user/login") || requestURI.equals("/api/user/test-password") || requestURI.startsWith("/api/word-upload/")) {
-            System.out.println("Skipping JWT filter for public endpoint: " + requestURI);
             filterChain.doFilter(request, response);
             return;
-        } else {
-            System.out.println("Applying JWT filter for endpoint: " + requestURI);
         }
         
         String authorizationHeader = request.getHeader("Authorization");
         
-        // 添加调试日志
-        if (authorizationHeader != null) {
-            System.out.println("Authorization header present: " + authorizationHeader);
-        } else {
-            System.out.println("No Authorization header");
-        }
-        
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             String token = authorizationHeader.substring(7);
-            System.out.println("Token extracted: " + token);
-            
-            boolean isValid = jwtUtil.validateToken(token);
-            boolean isExpired = false;
-            try {
-                isExpired = jwtUtil.isTokenExpired(token);
-            } catch (Exception e) {
-                System.out.println("Error checking token expiration: " + e.getMessage());
-                isExpired = true; // Assume expired if we can't check
-            }
             
-            System.out.println("Token valid: " + isValid + ", Token expired: " + isExpired);
+            VerifiedToken verified = verify(token);
             
-            if (isValid && !isExpired) {
-                String username = jwtUtil.getUsernameFromToken(token);
-                System.out.println("Username from token: " + username);
+            if (verified != null) {
+                String username = verified.getUsername();
                 
                 if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    // 获取用户角色
-                    User user = userRepository.findByUsername(username).orElse(null);
-                    System.out.println("User found: " + (user != null));
-                    SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + (user != null ? user.getRole() : "USER"));
+                    SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + verified.getRole());
                     
                     UsernamePasswordAuthenticationToken authenticationToken = 
                         new UsernamePasswordAuthenticationToken(username, null, java.util.Collections.singletonList(authority));
@@ -81,10 +67,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     SecurityContextHolder.getContext().setAuthentication(authenticationToken);
                 }
             } else {
-                System.out.println("Token validation failed or token expired");
+                log.debug("令牌无效或已过期, uri: {}", requestURI);
             }
         }
         
         filterChain.doFilter(request, response);
     }
+    
+    /**
+     * 验证令牌：先查已验证令牌缓存，未命中时解析一次（签名+过期时间）并放入缓存
+     * 旧令牌没有 role 声明时才查询数据库获取角色
+     */
+    private VerifiedToken verify(String token) {
+        VerifiedToken cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = jwtUtil.parseClaims(token);
+        if (claims == null || claims.getSubject() == null) {
+            return null;
+        }
+        String username = claims.getSubject();
+        String role = claims.get(JwtUtil.ROLE_CLAIM, String.class);
+        if (role == null) {
+            User user = userRepository.findByUsername(username).orElse(null);
+            role = user != null ? user.getRole() : "USER";
+        }
+        VerifiedToken verified = new VerifiedToken(username, role, claims.getExpiration() != null
+                ? claims.getExpiration().getTime() : System.currentTimeMillis());
+        verifiedTokenCache.put(token, verified);
+        return verified;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,141 @@
+package com.example.englishwords.filter;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 请求日志过滤器
+ * 为每个请求分配关联ID（沿用请求头 X-Request-Id，没有时生成），放入 MDC 并写回响应头；
+ * 请求结束时按接口的采样率输出一行访问日志，出错和慢请求总是输出。
+ * 日志只包含方法、路径、截断后的查询串、状态码和耗时，不记录请求头和请求体（不会输出令牌）。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String REQUEST_ID_MDC_KEY = "requestId";
+
+    private static final int MAX_REQUEST_ID_LENGTH = 64;
+
+    // 父类 GenericFilterBean 已有名为 logger 的字段
+    private static final Logger log = LoggerFactory.getLogger(RequestLoggingFilter.class);
+
+    private final double defaultSampleRate;
+    private final List<String> prefixes = new ArrayList<>();
+    private final List<Double> prefixRates = new ArrayList<>();
+    private final long slowThresholdMillis;
+    private final int maxPayloadChars;
+
+    /**
+     * @param defaultSampleRate 默认采样率（0~1）
+     * @param endpointSampleRates 按路径前缀配置的采样率，格式 "/api/exam:1.0,/api/word:0.01"，最长前缀优先
+     * @param slowThresholdMillis 超过该耗时的请求总是记录
+     * @param maxPayloadChars 查询串等内容在日志中的最大长度
+     */
+    public RequestLoggingFilter(@Value("${request-log.sample-rate:0.01}") double defaultSampleRate,
+                                @Value("${request-log.endpoint-sample-rates:}") String endpointSampleRates,
+                                @Value("${request-log.slow-threshold-ms:1000}") long slowThresholdMillis,
+                                @Value("${request-log.max-payload-chars:256}") int maxPayloadChars) {
+        this.defaultSampleRate = defaultSampleRate;
+        this.slowThresholdMillis = slowThresholdMillis;
+        this.maxPayloadChars = Math.max(4, maxPayloadChars);
+        for (String item : StringUtils.split(endpointSampleRates, ',')) {
+            int colon = item.lastIndexOf(':');
+            if (colon <= 0) {
+                continue;
+            }
+            addPrefix(item.substring(0, colon).trim(), Double.parseDouble(item.substring(colon + 1).trim()));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String requestId = requestId(request.getHeader(REQUEST_ID_HEADER));
+        MDC.put(REQUEST_ID_MDC_KEY, requestId);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+            int status = failure != null ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+            if (status >= 500 || failure != null) {
+                log.warn("{} {} {} {}ms{}", request.getMethod(), request.getRequestURI(), status, elapsedMillis,
+                        queryString(request), failure);
+            } else if (elapsedMillis >= slowThresholdMillis) {
+                log.info("{} {} {} {}ms 慢请求{}", request.getMethod(), request.getRequestURI(), status, elapsedMillis,
+                        queryString(request));
+            } else if (log.isInfoEnabled() && sampled(request.getRequestURI())) {
+                log.info("{} {} {} {}ms{}", request.getMethod(), request.getRequestURI(), status, elapsedMillis,
+                        queryString(request));
+            }
+            MDC.remove(REQUEST_ID_MDC_KEY);
+        }
+    }
+
+    private void addPrefix(String prefix, double rate) {
+        // 按前缀长度降序插入，匹配时第一个命中的即最长前缀
+        int i = 0;
+        while (i < prefixes.size() && prefixes.get(i).length() >= prefix.length()) {
+            i++;
+        }
+        prefixes.add(i, prefix);
+        prefixRates.add(i, rate);
+    }
+
+    private boolean sampled(String uri) {
+        double rate = defaultSampleRate;
+        for (int i = 0; i < prefixes.size(); i++) {
+            if (uri.startsWith(prefixes.get(i))) {
+                rate = prefixRates.get(i);
+                break;
+            }
+        }
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private String queryString(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return query == null ? "" : " ?" + StringUtils.abbreviate(query, maxPayloadChars);
+    }
+
+    /**
+     * 只接受长度有限的可打印ASCII关联ID，避免日志注入；否则生成新的ID
+     */
+    private static String requestId(String header) {
+        if (header != null && !header.isEmpty() && header.length() <= MAX_REQUEST_ID_LENGTH) {
+            boolean valid = true;
+            for (int i = 0; i < header.length() && valid; i++) {
+                char c = header.charAt(i);
+                valid = c > 0x20 && c < 0x7F;
+            }
+            if (valid) {
+                return header;
+            }
+        }
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+}
@@ -1,11 +1,25 @@
 package com.example.englishwords.repository;
 
 import com.example.englishwords.entity.ExamRecord;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface ExamRecordRepository extends JpaRepository<ExamRecord, Long> {
     List<ExamRecord> findByUserIdOrderByCreatedAtDesc(Long userId);
+    
+    // 键集分页的第一页，按 (创建时间, ID) 倒序
+    List<ExamRecord> findByUserIdOrderByCreatedAtDescIdDesc(Long userId, Pageable pageable);
+    
+    // 键集分页：排在游标 (创建时间, ID) 之后的一页，按 (创建时间, ID) 倒序
+    @Query("SELECT r FROM ExamRecord r WHERE r.userId = :userId "
+            + "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) "
+            + "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ExamRecord> findPageAfter(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") Long id, Pageable pageable);
 }
\ No newline at end of file
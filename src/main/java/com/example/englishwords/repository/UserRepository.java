@@ -1,13 +1,31 @@
 package com.example.englishwords.repository;
 
 import com.example.englishwords.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
+    
+    // 键集分页：ID大于游标的一页，按ID升序
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
+    /**
+     * 原子地累加用户积分（UPDATE ... SET total_score = total_score + ?），避免并发时丢失更新
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.totalScore = COALESCE(u.totalScore, 0) + :delta, u.updatedAt = :updatedAt WHERE u.id = :userId")
+    int addTotalScore(@Param("userId") Long userId, @Param("delta") int delta, @Param("updatedAt") LocalDateTime updatedAt);
 }
\ No newline at end of file
@@ -7,7 +7,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserWordErrorRepository extends JpaRepository<UserWordError, Long> {
+public interface UserWordErrorRepository extends JpaRepository<UserWordError, Long>, UserWordErrorRepositoryCustom {
     List<UserWordError> findByUserId(Long userId);
     Optional<UserWordError> findByUserIdAndWordId(Long userId, Long wordId);
     List<UserWordError> findByUserIdOrderByErrorCountDesc(Long userId);
@@ -0,0 +1,16 @@
+package com.example.englishwords.repository;
+
+import java.util.Map;
+
+/**
+ * 用户错题记录的批量操作（由 UserWordErrorRepositoryImpl 使用JDBC实现）
+ */
+public interface UserWordErrorRepositoryCustom {
+
+    /**
+     * 在一个事务内批量累加错误次数，不存在的记录会被创建
+     * @param userId 用户ID
+     * @param increments 单词ID到本次累加次数的映射
+     */
+    void incrementErrorCounts(Long userId, Map<Long, Integer> increments);
+}
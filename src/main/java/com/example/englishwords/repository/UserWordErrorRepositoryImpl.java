@@ -0,0 +1,64 @@
+package com.example.englishwords.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * UserWordErrorRepositoryCustom 的JDBC实现
+ * 先用一条 IN 查询找出已存在的记录，再分别批量执行 UPDATE 和 INSERT，
+ * 只使用标准SQL，MySQL 和 H2 均可运行。
+ */
+public class UserWordErrorRepositoryImpl implements UserWordErrorRepositoryCustom {
+
+    private static final String SELECT_EXISTING_SQL =
+            "SELECT word_id FROM user_word_error WHERE user_id = :userId AND word_id IN (:wordIds)";
+
+    private static final String UPDATE_SQL =
+            "UPDATE user_word_error SET error_count = error_count + ?, updated_at = ? WHERE user_id = ? AND word_id = ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO user_word_error (user_id, word_id, error_count, updated_at) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void incrementErrorCounts(Long userId, Map<Long, Integer> increments) {
+        if (increments.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("wordIds", increments.keySet());
+        Set<Long> existing = new HashSet<>(jdbcTemplate.queryForList(SELECT_EXISTING_SQL, params, Long.class));
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> updates = new ArrayList<>(existing.size());
+        List<Object[]> inserts = new ArrayList<>(increments.size() - existing.size());
+        for (Map.Entry<Long, Integer> entry : increments.entrySet()) {
+            if (existing.contains(entry.getKey())) {
+                updates.add(new Object[]{entry.getValue(), now, userId, entry.getKey()});
+            } else {
+                inserts.add(new Object[]{userId, entry.getKey(), entry.getValue(), now});
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.getJdbcOperations().batchUpdate(UPDATE_SQL, updates);
+        }
+        if (!inserts.isEmpty()) {
+            // 并发提交时可能与其他事务同时插入同一行，唯一约束(user_id, word_id)会抛出 DuplicateKeyException
+            jdbcTemplate.getJdbcOperations().batchUpdate(INSERT_SQL, inserts);
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.englishwords.repository;
 
 import com.example.englishwords.entity.WordFeedback;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -19,6 +23,18 @@ public interface WordFeedbackRepository extends JpaRepository<WordFeedback, Long
      */
     List<WordFeedback> findAllByOrderByCreatedAtDesc();
     
+    /**
+     * 键集分页的第一页，按 (创建时间, ID) 倒序
+     */
+    List<WordFeedback> findAllByOrderByCreatedAtDescIdDesc(Pageable pageable);
+    
+    /**
+     * 键集分页：排在游标 (创建时间, ID) 之后的一页，按 (创建时间, ID) 倒序
+     */
+    @Query("SELECT f FROM WordFeedback f WHERE f.createdAt < :createdAt OR (f.createdAt = :createdAt AND f.id < :id) "
+            + "ORDER BY f.createdAt DESC, f.id DESC")
+    List<WordFeedback> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+    
     /**
      * 根据用户ID查询反馈
      */
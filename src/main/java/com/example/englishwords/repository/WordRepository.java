@@ -1,6 +1,7 @@
 package com.example.englishwords.repository;
 
 import com.example.englishwords.entity.Word;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import java.util.List;
@@ -16,4 +17,7 @@ public interface WordRepository extends JpaRepository<Word, Long> {
     
     // 按年级和单元查询
     List<Word> findByGradeAndUnit(Integer grade, Integer unit);
+    
+    // 键集分页：ID大于游标的一页，按ID升序
+    List<Word> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
\ No newline at end of file
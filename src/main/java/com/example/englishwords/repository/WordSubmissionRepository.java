@@ -1,9 +1,13 @@
 package com.example.englishwords.repository;
 
 import com.example.englishwords.entity.WordSubmission;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -18,6 +22,16 @@ public interface WordSubmissionRepository extends JpaRepository<WordSubmission,
     // 查询所有待审批的提交
     List<WordSubmission> findByStatusOrderBySubmittedAtAsc(String status);
     
+    // 键集分页的第一页，按 (提交时间, ID) 升序
+    List<WordSubmission> findByStatusOrderBySubmittedAtAscIdAsc(String status, Pageable pageable);
+    
+    // 键集分页：排在游标 (提交时间, ID) 之后的一页，按 (提交时间, ID) 升序
+    @Query("SELECT s FROM WordSubmission s WHERE s.status = :status "
+            + "AND (s.submittedAt > :submittedAt OR (s.submittedAt = :submittedAt AND s.id > :id)) "
+            + "ORDER BY s.submittedAt ASC, s.id ASC")
+    List<WordSubmission> findPageAfter(@Param("status") String status, @Param("submittedAt") LocalDateTime submittedAt,
+                                       @Param("id") Long id, Pageable pageable);
+    
     // 统计待审批数量
     long countByStatus(String status);
 }
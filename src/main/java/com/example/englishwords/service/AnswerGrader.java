@@ -0,0 +1,15 @@
+package com.example.englishwords.service;
+
+/**
+ * 考试答案判分策略
+ */
+public interface AnswerGrader {
+
+    /**
+     * 给一道题的答案打分
+     * @param expected 标准答案（单词表中的英文，可能包含 "a/an" 这样的多个可选写法）
+     * @param answer 学生的答案，可能为null
+     * @return 得分比例：1 表示完全正确，0 表示错误，介于两者之间表示部分得分
+     */
+    double grade(String expected, String answer);
+}
@@ -0,0 +1,292 @@
+package com.example.englishwords.service;
+
+import com.example.englishwords.entity.Word;
+import com.example.englishwords.service.OcrService.PagedImage;
+import com.example.englishwords.util.WordNormalizer;
+import net.sourceforge.tess4j.TesseractException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * 批量识别：多张图片或多页TIFF
+ * 每一页作为一个任务提交到OCR工作线程池并行识别，哪一页先完成就先回调哪一页；
+ * 全部完成后按页码顺序合并各页解析出的单词，并按英文（忽略大小写）去重。
+ */
+@Service
+public class BatchOcrService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchOcrService.class);
+
+    private static final String LANGUAGE = "eng+chi_sim";
+
+    @Autowired
+    private OcrService ocrService;
+
+    @Autowired
+    private OcrJobService ocrJobService;
+
+    @Autowired
+    private WordTextParser wordTextParser;
+
+    private final int maxPages;
+
+    public BatchOcrService(@Value("${ocr.batch.max-pages:100}") int maxPages) {
+        this.maxPages = maxPages;
+    }
+
+    public int getMaxPages() {
+        return maxPages;
+    }
+
+    /**
+     * 把上传的文件展开为页：TIFF 每一页为一页，其他图片为一页
+     * 每个文件只打开一次并计算一次内容摘要，各页共用；打开的文件在 recognize 结束后关闭
+     * @param files 文件名到文件内容，按上传顺序
+     * @throws IOException 无法识别的图片格式，或总页数超过上限
+     */
+    public List<Page> expand(LinkedHashMap<String, byte[]> files) throws IOException {
+        List<Page> pages = new ArrayList<>();
+        List<PagedImage> opened = new ArrayList<>();
+        try {
+            for (Map.Entry<String, byte[]> file : files.entrySet()) {
+                PagedImage image;
+                try {
+                    image = ocrService.openPages(file.getValue());
+                } catch (IOException e) {
+                    throw new IOException(file.getKey() + ": " + e.getMessage(), e);
+                }
+                opened.add(image);
+                int count = image.getPageCount();
+                if (pages.size() + count > maxPages) {
+                    throw new IOException("页数超过上限 " + maxPages);
+                }
+                for (int i = 0; i < count; i++) {
+                    pages.add(new Page(pages.size() + 1, file.getKey(), image, count > 1 ? i : -1));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            closeAll(opened);
+            throw e;
+        }
+        return pages;
+    }
+
+    /**
+     * 并行识别所有页，每完成一页调用一次 onPage（在调用线程中回调，按完成顺序）；结束后关闭各页的文件
+     * @return 按页码顺序合并并去重后的单词
+     */
+    public List<Word> recognize(List<Page> pages, Integer grade, Integer unit, Consumer<PageResult> onPage) {
+        try {
+            return recognizeAll(pages, grade, unit, onPage);
+        } finally {
+            List<PagedImage> images = new ArrayList<>();
+            for (Page page : pages) {
+                if (images.isEmpty() || images.get(images.size() - 1) != page.getImage()) {
+                    images.add(page.getImage());
+                }
+            }
+            closeAll(images);
+        }
+    }
+
+    private List<Word> recognizeAll(List<Page> pages, Integer grade, Integer unit, Consumer<PageResult> onPage) {
+        BlockingQueue<PageResult> completed = new LinkedBlockingQueue<>();
+        List<Future<?>> futures = new ArrayList<>(pages.size());
+        int submitted = 0;
+        for (Page page : pages) {
+            try {
+                futures.add(ocrJobService.submitTask(() -> {
+                    PageResult result = PageResult.failed(page, "服务器内部错误");
+                    try {
+                        result = recognizePage(page, grade, unit);
+                    } finally {
+                        // 无论如何都要放入结果，否则等待方会一直阻塞
+                        completed.add(result);
+                    }
+                    return null;
+                }));
+                submitted++;
+            } catch (RejectedExecutionException e) {
+                completed.add(PageResult.failed(page, "识别任务过多，请稍后重试"));
+            }
+        }
+
+        Map<Integer, List<Word>> wordsByPage = new HashMap<>();
+        try {
+            for (int received = 0; received < pages.size(); received++) {
+                PageResult result = completed.take();
+                if (result.getWords() != null) {
+                    wordsByPage.put(result.getPage().getNumber(), result.getWords());
+                }
+                onPage.accept(result);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+            logger.warn("批量识别被中断, 已提交页数: {}", submitted);
+        } catch (RuntimeException e) {
+            // 回调失败（如客户端断开），取消尚未开始的页
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+            throw e;
+        }
+
+        List<List<Word>> ordered = new ArrayList<>();
+        for (Page page : pages) {
+            List<Word> words = wordsByPage.get(page.getNumber());
+            if (words != null) {
+                ordered.add(words);
+            }
+        }
+        return mergeDistinct(ordered);
+    }
+
+    /**
+     * 按顺序合并，英文的规范形式（见 WordNormalizer.normalizeEnglish）相同的单词只保留第一次出现的，
+     * 与单词库查重的规则一致
+     */
+    static List<Word> mergeDistinct(Collection<List<Word>> pages) {
+        Map<String, Word> distinct = new LinkedHashMap<>();
+        for (List<Word> words : pages) {
+            for (Word word : words) {
+                distinct.putIfAbsent(WordNormalizer.normalizeEnglish(word.getEnglish()), word);
+            }
+        }
+        return new ArrayList<>(distinct.values());
+    }
+
+    private PageResult recognizePage(Page page, Integer grade, Integer unit) {
+        long start = System.currentTimeMillis();
+        try {
+            PagedImage image = page.getImage();
+            String text = page.getPageIndex() < 0
+                    ? ocrService.extractTextFromImage(image.getBytes(), image.getContentHash(), LANGUAGE)
+                    : ocrService.extractTextFromPage(image, page.getPageIndex(), LANGUAGE);
+            List<Word> words = wordTextParser.parse(text, grade, unit);
+            return PageResult.succeeded(page, words, System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            return PageResult.failed(page, "图片读取失败: " + e.getMessage());
+        } catch (TesseractException e) {
+            return PageResult.failed(page, "OCR识别失败: " + e.getMessage());
+        } catch (Exception e) {
+            logger.error("批量识别第 {} 页失败, 文件: {}", page.getNumber(), page.getFileName(), e);
+            return PageResult.failed(page, "服务器内部错误: " + e.getMessage());
+        }
+    }
+
+    private static void closeAll(List<PagedImage> images) {
+        for (PagedImage image : images) {
+            try {
+                image.close();
+            } catch (IOException e) {
+                logger.warn("关闭图片文件失败: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 批量识别中的一页
+     */
+    public static final class Page {
+        private final int number;
+        private final String fileName;
+        private final PagedImage image;
+        private final int pageIndex;
+
+        Page(int number, String fileName, PagedImage image, int pageIndex) {
+            this.number = number;
+            this.fileName = fileName;
+            this.image = image;
+            this.pageIndex = pageIndex;
+        }
+
+        /**
+         * 在整个批次中的页码，从1开始
+         */
+        public int getNumber() {
+            return number;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        PagedImage getImage() {
+            return image;
+        }
+
+        /**
+         * 在多页文件中的页码（从0开始），单页图片为-1
+         */
+        public int getPageIndex() {
+            return pageIndex;
+        }
+    }
+
+    /**
+     * 一页的识别结果
+     */
+    public static final class PageResult {
+        private final Page page;
+        private final List<Word> words;
+        private final String message;
+        private final long elapsedMillis;
+
+        private PageResult(Page page, List<Word> words, String message, long elapsedMillis) {
+            this.page = page;
+            this.words = words;
+            this.message = message;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        static PageResult succeeded(Page page, List<Word> words, long elapsedMillis) {
+            return new PageResult(page, words, null, elapsedMillis);
+        }
+
+        static PageResult failed(Page page, String message) {
+            return new PageResult(page, null, message, 0);
+        }
+
+        public Page getPage() {
+            return page;
+        }
+
+        /**
+         * 解析出的单词，识别失败时为null
+         */
+        public List<Word> getWords() {
+            return words;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public boolean isSuccess() {
+            return words != null;
+        }
+    }
+}
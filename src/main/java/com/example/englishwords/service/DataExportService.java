@@ -0,0 +1,296 @@
+package com.example.englishwords.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 流式导出单词库、考试记录和错题记录（NDJSON 或 CSV）
+ * 查询设置了 fetch size，MySQL 连接参数 useCursorFetch=true 时驱动按批从服务端游标取行，
+ * 每读一行立即写到输出流，内存占用与表的大小无关。
+ */
+@Service
+public class DataExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataExportService.class);
+
+    /**
+     * 可导出的表：导出字段名与查询的列一一对应，按ID顺序输出
+     */
+    public enum Table {
+        WORDS("words", "SELECT id, english, chinese, grade, unit, teacher_id, teacher_name, created_at, updated_at FROM word",
+                null, "id", "english", "chinese", "grade", "unit", "teacherId", "teacherName", "createdAt", "updatedAt"),
+        EXAM_RECORDS("exam-records", "SELECT id, user_id, score, total_questions, correct_answers, wrong_answers, "
+                + "exam_time_seconds, created_at FROM exam_record", "user_id",
+                "id", "userId", "score", "totalQuestions", "correctAnswers", "wrongAnswers", "examTimeSeconds", "createdAt"),
+        WORD_ERRORS("word-errors", "SELECT id, user_id, word_id, error_count, updated_at FROM user_word_error", "user_id",
+                "id", "userId", "wordId", "errorCount", "updatedAt");
+
+        private final String fileName;
+        private final String sql;
+        private final String userColumn;
+        private final String[] fields;
+
+        Table(String fileName, String sql, String userColumn, String... fields) {
+            this.fileName = fileName;
+            this.sql = sql;
+            this.userColumn = userColumn;
+            this.fields = fields;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        /**
+         * 按导出名称（如 words、exam-records、word-errors）查找，未知时返回null
+         */
+        public static Table of(String name) {
+            for (Table table : values()) {
+                if (table.fileName.equalsIgnoreCase(name)) {
+                    return table;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * 是否可以按用户筛选
+         */
+        public boolean hasUserColumn() {
+            return userColumn != null;
+        }
+    }
+
+    public enum Format {
+        NDJSON("ndjson", "application/x-ndjson"),
+        CSV("csv", "text/csv;charset=UTF-8");
+
+        private final String extension;
+        private final String contentType;
+
+        Format(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        /**
+         * 按名称（忽略大小写）查找格式，未知时返回null
+         */
+        public static Format of(String name) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Semaphore slots;
+
+    public DataExportService(DataSource dataSource, ObjectMapper objectMapper,
+                             @Value("${export.fetch-size:1000}") int fetchSize,
+                             @Value("${export.max-concurrent:2}") int maxConcurrent) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.objectMapper = objectMapper;
+        this.slots = new Semaphore(Math.max(1, maxConcurrent));
+    }
+
+    /**
+     * 占用一个导出名额
+     * 导出在客户端下载的整个过程中占用一个数据库连接，限制同时进行的导出数，慢速下载不会占满连接池；
+     * 成功后必须在导出结束时调用 release()
+     * @return 名额已用完时返回false
+     */
+    public boolean tryAcquire() {
+        return slots.tryAcquire();
+    }
+
+    public void release() {
+        slots.release();
+    }
+
+    /**
+     * 把表中的行逐行写到输出流
+     * @param table 导出的表
+     * @param format 输出格式
+     * @param userId 只导出该用户的记录，为null时导出全部（单词库忽略此参数）
+     * @param outputStream 输出流，不会被关闭
+     * @return 导出的行数
+     * @throws IOException 写出失败（如客户端已断开）
+     */
+    public long export(Table table, Format format, Long userId, OutputStream outputStream) throws IOException {
+        long start = System.currentTimeMillis();
+        boolean filtered = userId != null && table.hasUserColumn();
+        String sql = table.sql + (filtered ? " WHERE " + table.userColumn + " = ?" : "") + " ORDER BY id";
+        Object[] args = filtered ? new Object[]{userId} : new Object[0];
+
+        RowWriter writer = format == Format.CSV
+                ? new CsvRowWriter(outputStream, table.fields)
+                : new NdjsonRowWriter(objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8),
+                table.fields);
+        long[] rows = new long[1];
+        try {
+            writer.begin();
+            jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+                try {
+                    writer.write(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            }, args);
+            writer.end();
+        } catch (UncheckedIOException e) {
+            // 客户端已断开，查询随之结束
+            logger.info("导出中断, 表: {}, 已导出行数: {}, 原因: {}", table.fileName, rows[0], e.getCause().getMessage());
+            throw e.getCause();
+        }
+        logger.info("导出完成, 表: {}, 格式: {}, 用户: {}, 行数: {}, 耗时: {}ms",
+                table.fileName, format.extension, userId, rows[0], System.currentTimeMillis() - start);
+        return rows[0];
+    }
+
+    /**
+     * 时间列统一输出为 ISO-8601 本地时间
+     */
+    private static Object valueOf(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toLocalDateTime().toString();
+        }
+        if (value instanceof LocalDateTime) {
+            return value.toString();
+        }
+        return value;
+    }
+
+    private interface RowWriter {
+        void begin() throws IOException;
+
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void end() throws IOException;
+    }
+
+    /**
+     * 每行一个 JSON 对象
+     */
+    private static final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+        private final String[] fields;
+
+        NdjsonRowWriter(JsonGenerator generator, String[] fields) {
+            this.generator = generator;
+            this.fields = fields;
+            // 输出流由调用方关闭
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void begin() {
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < fields.length; i++) {
+                generator.writeObjectField(fields[i], valueOf(rs, i + 1));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void end() throws IOException {
+            generator.close();
+        }
+    }
+
+    /**
+     * 带表头的 CSV，开头写入 BOM 以便 Excel 按 UTF-8 打开
+     */
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+        private final String[] fields;
+
+        CsvRowWriter(OutputStream outputStream, String[] fields) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            this.fields = fields;
+        }
+
+        @Override
+        public void begin() throws IOException {
+            writer.write('\uFEFF');
+            for (int i = 0; i < fields.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(fields[i]);
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            for (int i = 0; i < fields.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = valueOf(rs, i + 1);
+                if (value != null) {
+                    writeField(value.toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+
+        @Override
+        public void end() throws IOException {
+            writer.flush();
+        }
+    }
+}
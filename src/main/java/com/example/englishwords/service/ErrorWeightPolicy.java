@@ -0,0 +1,14 @@
+package com.example.englishwords.service;
+
+/**
+ * 错题权重策略
+ * 根据学生某个单词的错误次数，计算该单词在加权出题时被抽中的相对权重。
+ */
+public interface ErrorWeightPolicy {
+
+    /**
+     * @param errorCount 错误次数，没有错题记录时为0
+     * @return 相对权重，必须大于0
+     */
+    double weight(int errorCount);
+}
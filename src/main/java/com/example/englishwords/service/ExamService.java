@@ -2,17 +2,20 @@ package com.example.englishwords.service;
 
 import com.example.englishwords.entity.*;
 import com.example.englishwords.repository.*;
+import com.example.englishwords.util.KeysetPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 @Service
 public class ExamService {
     
     @Autowired
-    private WordRepository wordRepository;
+    private WordCatalog wordCatalog;
     
     @Autowired
     private ExamRecordRepository examRecordRepository;
@@ -21,99 +24,148 @@ public class ExamService {
     private UserWordErrorRepository userWordErrorRepository;
     
     @Autowired
-    private UserService userService;
+    private ExamSubmissionWriter examSubmissionWriter;
+    
+    @Autowired
+    private ExamSessionStore examSessionStore;
+    
+    @Autowired
+    private AnswerGrader answerGrader;
     
     public List<Word> generateExamPaper(int count) {
-        List<Word> allWords = wordRepository.findAll();
-        if (allWords.size() <= count) {
-            return allWords;
+        // 从内存单词库中随机选择count个单词
+        return wordCatalog.snapshot().all().sample(count, ThreadLocalRandom.current());
+    }
+    
+    /**
+     * 为生成的试卷创建服务端考试会话，会话绑定到登录用户
+     */
+    public ExamSessionStore.ExamSession startExamSession(Long userId, String username, List<Word> examWords) {
+        return examSessionStore.create(userId, username, examWords);
+    }
+    
+    /**
+     * 按考试会话提交答案，试卷内容从会话和内存单词库中取得，考试记录和积分归属会话的考生
+     * @param username 提交答案的登录用户名
+     * @return 判分结果，会话不存在、已过期或不属于该用户时返回null
+     * @throws RejectedExecutionException 提交队列已满，会话保留，可以稍后重新提交
+     */
+    public Map<String, Object> submitExam(String username, Map<Long, String> answers, String sessionId) {
+        ExamSessionStore.ExamSession session = examSessionStore.take(sessionId, username);
+        if (session == null) {
+            return null;
+        }
+        Long userId = session.getUserId();
+        
+        long[] wordIds = session.getWordIds();
+        List<Word> examWords = new ArrayList<>(wordIds.length);
+        WordCatalog.Snapshot snapshot = wordCatalog.snapshot();
+        for (long wordId : wordIds) {
+            Word word = snapshot.byId(wordId);
+            // 考试期间被删除的单词不计入
+            if (word != null) {
+                examWords.add(word);
+            }
         }
         
-        // 随机选择count个单词
-        Collections.shuffle(allWords);
-        return allWords.subList(0, count);
+        int examTimeSeconds = (int) ((System.currentTimeMillis() - session.getCreatedAt()) / 1000);
+        try {
+            return submitExam(userId, answers, examWords, examTimeSeconds);
+        } catch (RejectedExecutionException e) {
+            examSessionStore.restore(session);
+            throw e;
+        }
     }
     
+    /**
+     * 按给定的试卷判分并记录；试卷必须来自服务端，不能使用客户端带回的单词和答案
+     * @throws RejectedExecutionException 提交队列已满
+     */
     public Map<String, Object> submitExam(Long userId, Map<Long, String> answers, List<Word> examWords) {
+        return submitExam(userId, answers, examWords, 0);
+    }
+    
+    private Map<String, Object> submitExam(Long userId, Map<Long, String> answers, List<Word> examWords, int examTimeSeconds) {
         int correctCount = 0;
+        int partialCount = 0;
+        double totalCredit = 0;
         int totalCount = examWords.size();
         
         // 记录用户答错的单词
         List<Long> wrongWordIds = new ArrayList<>();
         
-        // 检查答案
+        // 检查答案：完全正确得满分；少量拼写错误得部分分，但仍算答错并记入错题；其余得0分
         for (Word word : examWords) {
-            String userAnswer = answers.getOrDefault(word.getId(), "").trim().toLowerCase();
-            String correctAnswer = word.getEnglish().trim().toLowerCase();
-            
-            if (userAnswer.equals(correctAnswer)) {
+            double credit = answerGrader.grade(word.getEnglish(), answers.get(word.getId()));
+            totalCredit += credit;
+            if (credit >= 1.0) {
                 correctCount++;
             } else {
+                if (credit > 0) {
+                    partialCount++;
+                }
                 wrongWordIds.add(word.getId());
             }
         }
         
         int wrongCount = totalCount - correctCount;
-        int score = (int) Math.round(((double) correctCount / totalCount) * 100);
+        int score = totalCount == 0 ? 0 : (int) Math.round((totalCredit / totalCount) * 100);
         
-        // 保存考试记录
+        // 考试记录
         ExamRecord examRecord = new ExamRecord();
         examRecord.setUserId(userId);
         examRecord.setScore(score);
         examRecord.setTotalQuestions(totalCount);
         examRecord.setCorrectAnswers(correctCount);
         examRecord.setWrongAnswers(wrongCount);
-        examRecord.setExamTimeSeconds(0); // 简化处理，实际应该记录考试用时
+        examRecord.setExamTimeSeconds(examTimeSeconds);
         examRecord.setCreatedAt(LocalDateTime.now());
-        examRecordRepository.save(examRecord);
-        
-        // 更新用户错题记录
-        updateErrorCounts(userId, wrongWordIds);
         
         // 如果考试通过(分数>=60)，给予积分奖励
+        int rewardPoints = 0;
         if (score >= 60) {
             // 基础积分+额外奖励积分
-            int rewardPoints = 10 + (score - 60) / 10; // 每超过60分10分，奖励1积分
-            userService.updateUserScore(userId, rewardPoints);
+            rewardPoints = 10 + (score - 60) / 10; // 每超过60分10分，奖励1积分
         }
         
+        // 考试记录、错题次数和积分交给后台写入器异步保存
+        examSubmissionWriter.submit(examRecord, wrongWordIds, rewardPoints);
+        
         // 构造返回结果
         Map<String, Object> result = new HashMap<>();
         result.put("score", score);
         result.put("correctCount", correctCount);
         result.put("wrongCount", wrongCount);
+        result.put("partialCount", partialCount);
         result.put("totalCount", totalCount);
         result.put("passed", score >= 60);
+        result.put("examTimeSeconds", examTimeSeconds);
         
         return result;
     }
     
-    private void updateErrorCounts(Long userId, List<Long> wrongWordIds) {
-        for (Long wordId : wrongWordIds) {
-            Optional<UserWordError> userWordErrorOpt = userWordErrorRepository.findByUserIdAndWordId(userId, wordId);
-            
-            if (userWordErrorOpt.isPresent()) {
-                // 更新错误次数
-                UserWordError userWordError = userWordErrorOpt.get();
-                userWordError.setErrorCount(userWordError.getErrorCount() + 1);
-                userWordError.setUpdatedAt(LocalDateTime.now());
-                userWordErrorRepository.save(userWordError);
-            } else {
-                // 创建新的错误记录
-                UserWordError userWordError = new UserWordError();
-                userWordError.setUserId(userId);
-                userWordError.setWordId(wordId);
-                userWordError.setErrorCount(1);
-                userWordError.setUpdatedAt(LocalDateTime.now());
-                userWordErrorRepository.save(userWordError);
-            }
-        }
-    }
-    
     public List<ExamRecord> getUserExamRecords(Long userId) {
         return examRecordRepository.findByUserIdOrderByCreatedAtDesc(userId);
     }
     
+    /**
+     * 分页获取用户的考试记录，按 (创建时间, ID) 倒序
+     * @param cursor 上一页返回的游标，第一页为null
+     * @param size 每页条数
+     * @throws IllegalArgumentException 游标无效
+     */
+    public KeysetPage<ExamRecord> getUserExamRecordsPage(Long userId, String cursor, int size) {
+        List<ExamRecord> fetched;
+        if (cursor == null || cursor.isEmpty()) {
+            fetched = examRecordRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, KeysetPage.fetchRequest(size));
+        } else {
+            KeysetPage.Cursor after = KeysetPage.decode(cursor);
+            fetched = examRecordRepository.findPageAfter(userId, after.requireTime(), after.getId(),
+                    KeysetPage.fetchRequest(size));
+        }
+        return KeysetPage.of(fetched, size, record -> KeysetPage.encode(record.getCreatedAt(), record.getId()));
+    }
+    
     public List<UserWordError> getUserWordErrors(Long userId) {
         return userWordErrorRepository.findByUserIdOrderByErrorCountDesc(userId);
     }
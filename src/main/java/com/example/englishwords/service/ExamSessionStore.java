@@ -0,0 +1,144 @@
+package com.example.englishwords.service;
+
+import com.example.englishwords.entity.Word;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 服务端考试会话存储
+ * 生成试卷时记录所选单词ID（原始数组）和开始时间，提交时客户端只需带回会话ID和答案。
+ * 容量有上限，超出时淘汰最早创建的会话；会话超过有效期后失效，并且只能提交一次。
+ */
+@Component
+public class ExamSessionStore {
+
+    private final int maxSessions;
+    private final long ttlMillis;
+    private final LinkedHashMap<String, ExamSession> sessions = new LinkedHashMap<>();
+
+    public ExamSessionStore(@Value("${exam.session.max-sessions:50000}") int maxSessions,
+                            @Value("${exam.session.ttl-minutes:120}") long ttlMinutes) {
+        this.maxSessions = maxSessions;
+        this.ttlMillis = ttlMinutes * 60 * 1000L;
+    }
+
+    /**
+     * 为一张试卷创建会话
+     * @param userId 考生ID
+     * @param username 考生的登录用户名，只有该用户可以提交
+     * @param words 试卷中的单词
+     */
+    public ExamSession create(Long userId, String username, List<Word> words) {
+        long[] wordIds = new long[words.size()];
+        for (int i = 0; i < wordIds.length; i++) {
+            wordIds[i] = words.get(i).getId();
+        }
+        long now = System.currentTimeMillis();
+        ExamSession session = new ExamSession(UUID.randomUUID().toString(), userId, username, wordIds, now);
+        synchronized (sessions) {
+            purgeExpired(now);
+            sessions.put(session.getId(), session);
+            // 按创建顺序淘汰最早的会话
+            Iterator<ExamSession> iterator = sessions.values().iterator();
+            while (sessions.size() > maxSessions && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        return session;
+    }
+
+    /**
+     * 取出并移除考生本人的会话
+     * 会话属于其他用户时不移除，别人拿到会话ID也不能作废这场考试
+     * @param username 提交答案的登录用户名
+     * @return 会话；不存在、已过期或不属于该用户时返回null
+     */
+    public ExamSession take(String sessionId, String username) {
+        ExamSession session;
+        synchronized (sessions) {
+            session = sessions.get(sessionId);
+            if (session == null || username == null || !username.equals(session.getUsername())) {
+                return null;
+            }
+            sessions.remove(sessionId);
+        }
+        if (isExpired(session, System.currentTimeMillis())) {
+            return null;
+        }
+        return session;
+    }
+
+    /**
+     * 放回取出的会话（如提交被拒绝时），客户端可以用同一会话重新提交
+     */
+    public void restore(ExamSession session) {
+        synchronized (sessions) {
+            sessions.putIfAbsent(session.getId(), session);
+        }
+    }
+
+    public long getTtlSeconds() {
+        return ttlMillis / 1000;
+    }
+
+    private void purgeExpired(long now) {
+        // 会话按创建时间顺序排列，遇到第一个未过期的即可停止
+        Iterator<Map.Entry<String, ExamSession>> iterator = sessions.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (!isExpired(iterator.next().getValue(), now)) {
+                break;
+            }
+            iterator.remove();
+        }
+    }
+
+    private boolean isExpired(ExamSession session, long now) {
+        return now - session.getCreatedAt() > ttlMillis;
+    }
+
+    /**
+     * 一次考试会话
+     */
+    public static final class ExamSession {
+        private final String id;
+        private final Long userId;
+        private final String username;
+        private final long[] wordIds;
+        private final long createdAt;
+
+        ExamSession(String id, Long userId, String username, long[] wordIds, long createdAt) {
+            this.id = id;
+            this.userId = userId;
+            this.username = username;
+            this.wordIds = wordIds;
+            this.createdAt = createdAt;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public long[] getWordIds() {
+            return wordIds;
+        }
+
+        public long getCreatedAt() {
+            return createdAt;
+        }
+    }
+}
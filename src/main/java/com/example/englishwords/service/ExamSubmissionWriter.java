@@ -0,0 +1,249 @@
+package com.example.englishwords.service;
+
+import com.example.englishwords.entity.ExamRecord;
+import com.example.englishwords.repository.ExamRecordRepository;
+import com.example.englishwords.repository.UserRepository;
+import com.example.englishwords.repository.UserWordErrorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 考试提交的异步写入器（write-behind）
+ * 判分在请求线程完成后立即返回，考试记录、错题次数和积分通过有界队列交给后台线程，
+ * 后台线程把多次提交合并到一个事务中写入。所有写入都经过唯一的写入路径（写线程，关闭后为排空路径），
+ * 按入队顺序处理，保证同一用户的提交顺序，也不会有两个事务并发更新同一用户的错题记录；
+ * 队列满时调用线程最多等待 offer-timeout-ms，仍无空位则拒绝提交（背压）；应用关闭时写完队列中剩余的提交。
+ */
+@Component
+public class ExamSubmissionWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExamSubmissionWriter.class);
+
+    @Autowired
+    private ExamRecordRepository examRecordRepository;
+
+    @Autowired
+    private UserWordErrorRepository userWordErrorRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserErrorProfileCache errorProfileCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<PendingSubmission> queue;
+    private final int batchSize;
+    private final long offerTimeoutMillis;
+
+    private volatile boolean running;
+    private Thread writerThread;
+    // 关闭时的排空路径已执行，之后的提交直接在排空路径上写入
+    private boolean drained;
+
+    public ExamSubmissionWriter(@Value("${exam.submit.queue-capacity:10000}") int queueCapacity,
+                                @Value("${exam.submit.batch-size:200}") int batchSize,
+                                @Value("${exam.submit.offer-timeout-ms:1000}") long offerTimeoutMillis) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::runLoop, "exam-submission-writer");
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(30));
+        if (writerThread.isAlive()) {
+            // 写线程仍在写入，不在关闭线程上并发写，剩余的提交留给写线程
+            logger.warn("考试提交写线程未能在30秒内退出, 队列中剩余: {}", queue.size());
+            return;
+        }
+        synchronized (this) {
+            drainRemaining();
+            drained = true;
+        }
+    }
+
+    /**
+     * 提交一次考试的持久化任务
+     * @param record 考试记录
+     * @param wrongWordIds 答错的单词ID
+     * @param rewardPoints 奖励积分，0表示不加分
+     * @throws RejectedExecutionException 队列已满，等待 offer-timeout-ms 后仍无空位
+     */
+    public void submit(ExamRecord record, List<Long> wrongWordIds, int rewardPoints) {
+        PendingSubmission submission = new PendingSubmission(record, wrongWordIds, rewardPoints);
+        if (!running) {
+            submitAfterShutdown(submission);
+            return;
+        }
+        boolean queued;
+        try {
+            queued = queue.offer(submission, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            // 不在调用线程上写入，否则会与写线程并发，打乱同一用户的提交顺序
+            logger.warn("考试提交队列已满，拒绝提交, userId: {}", record.getUserId());
+            throw new RejectedExecutionException("考试提交队列已满");
+        }
+    }
+
+    /**
+     * 写入器已停止：排空路径执行前放入队列，由写线程或排空路径写入；执行后在排空路径上写入
+     */
+    private synchronized void submitAfterShutdown(PendingSubmission submission) {
+        if (!drained) {
+            boolean queued;
+            try {
+                queued = queue.offer(submission, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queued = false;
+            }
+            if (!queued) {
+                throw new RejectedExecutionException("考试提交队列已满");
+            }
+            return;
+        }
+        drainRemaining();
+        write(Collections.singletonList(submission));
+    }
+
+    /**
+     * 写完队列中剩余的提交，调用方持有本对象的锁
+     */
+    private void drainRemaining() {
+        List<PendingSubmission> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            write(remaining);
+        }
+    }
+
+    private void runLoop() {
+        List<PendingSubmission> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingSubmission first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("考试提交写入失败", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingSubmission> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(batch));
+            afterCommit(batch);
+        } catch (RuntimeException e) {
+            // 整批回滚后逐条重试，避免一条坏数据拖累整批
+            logger.warn("批量写入考试提交失败，改为逐条写入, 批大小: {}, 原因: {}", batch.size(), e.getMessage());
+            for (PendingSubmission submission : batch) {
+                writeOne(submission);
+            }
+        }
+    }
+
+    private void writeOne(PendingSubmission submission) {
+        List<PendingSubmission> single = Collections.singletonList(submission);
+        try {
+            try {
+                transactionTemplate.executeWithoutResult(status -> persist(single));
+            } catch (DuplicateKeyException e) {
+                // 并发插入同一条错题记录，事务已回滚，重试一次即全部走更新
+                transactionTemplate.executeWithoutResult(status -> persist(single));
+            }
+            afterCommit(single);
+        } catch (RuntimeException e) {
+            logger.error("写入考试提交失败, userId: {}", submission.record.getUserId(), e);
+            // 提交阶段失败时数据库是否已写入无法确定，缓存的档案改为从数据库重新加载
+            errorProfileCache.invalidate(submission.record.getUserId());
+        }
+    }
+
+    private void persist(List<PendingSubmission> batch) {
+        List<ExamRecord> records = new ArrayList<>(batch.size());
+        Map<Long, Integer> scoreDeltas = new LinkedHashMap<>();
+        for (PendingSubmission submission : batch) {
+            // 之前回滚的事务可能已给记录分配了ID，重试时按新记录插入
+            submission.record.setId(null);
+            records.add(submission.record);
+            Long userId = submission.record.getUserId();
+            if (!submission.wrongWordIds.isEmpty()) {
+                // 同一单词在一张试卷中出现多次时累加
+                Map<Long, Integer> increments = new LinkedHashMap<>();
+                for (Long wordId : submission.wrongWordIds) {
+                    increments.merge(wordId, 1, Integer::sum);
+                }
+                userWordErrorRepository.incrementErrorCounts(userId, increments);
+            }
+            if (submission.rewardPoints != 0) {
+                scoreDeltas.merge(userId, submission.rewardPoints, Integer::sum);
+            }
+        }
+        examRecordRepository.saveAll(records);
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<Long, Integer> entry : scoreDeltas.entrySet()) {
+            userRepository.addTotalScore(entry.getKey(), entry.getValue(), now);
+        }
+    }
+
+    private void afterCommit(List<PendingSubmission> batch) {
+        for (PendingSubmission submission : batch) {
+            errorProfileCache.recordErrors(submission.record.getUserId(), submission.wrongWordIds);
+        }
+    }
+
+    private static final class PendingSubmission {
+        final ExamRecord record;
+        final List<Long> wrongWordIds;
+        final int rewardPoints;
+
+        PendingSubmission(ExamRecord record, List<Long> wrongWordIds, int rewardPoints) {
+            this.record = record;
+            this.wrongWordIds = wrongWordIds;
+            this.rewardPoints = rewardPoints;
+        }
+    }
+}
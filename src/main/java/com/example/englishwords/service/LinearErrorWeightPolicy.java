@@ -0,0 +1,30 @@
+package com.example.englishwords.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 默认的错题权重策略：权重 = 1 + 错误次数 / divisor（整除）
+ * divisor 默认为2，即错1次权重为1，错2次权重为2，错4次权重为3，
+ * 与原先按权重重复加入列表的做法一致；调小 divisor 会加大错题的出现概率。
+ */
+@Component
+public class LinearErrorWeightPolicy implements ErrorWeightPolicy {
+
+    private final int divisor;
+
+    public LinearErrorWeightPolicy(@Value("${exam.weight.error-divisor:2}") int divisor) {
+        if (divisor <= 0) {
+            throw new IllegalArgumentException("exam.weight.error-divisor 必须大于0");
+        }
+        this.divisor = divisor;
+    }
+
+    @Override
+    public double weight(int errorCount) {
+        if (errorCount <= 0) {
+            return 1.0;
+        }
+        return 1 + errorCount / divisor;
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.englishwords.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.util.Arrays;
+
+/**
+ * OCR前的图片预处理
+ * 手机拍摄的教材照片通常有上千万像素，远超过 Tesseract 识别文字所需，
+ * 依次执行以下步骤（均可单独关闭）以减少识别耗时并提高识别质量：
+ * 1. 缩小：按页面短边尺寸把图片缩放到目标DPI，只缩小不放大
+ * 2. 灰度化
+ * 3. 自适应二值化：与局部窗口均值比较（积分图实现），能处理光照不均的照片
+ * 4. 纠偏：在二值图上按水平投影搜索倾斜角度并旋转校正
+ */
+@Component
+public class OcrImagePreprocessor {
+
+    private final boolean enabled;
+    private final boolean downscale;
+    private final boolean grayscale;
+    private final boolean binarize;
+    private final boolean deskew;
+    private final int targetDpi;
+    private final double pageShortEdgeInches;
+    private final int binarizeWindow;
+    private final double binarizeThreshold;
+    private final double deskewMaxAngle;
+    private final double deskewStep;
+
+    public OcrImagePreprocessor(@Value("${ocr.preprocess.enabled:true}") boolean enabled,
+                                @Value("${ocr.preprocess.downscale:true}") boolean downscale,
+                                @Value("${ocr.preprocess.grayscale:true}") boolean grayscale,
+                                @Value("${ocr.preprocess.binarize:true}") boolean binarize,
+                                @Value("${ocr.preprocess.deskew:true}") boolean deskew,
+                                @Value("${ocr.preprocess.target-dpi:300}") int targetDpi,
+                                @Value("${ocr.preprocess.page-short-edge-inches:7.0}") double pageShortEdgeInches,
+                                @Value("${ocr.preprocess.binarize-window:0}") int binarizeWindow,
+                                @Value("${ocr.preprocess.binarize-threshold:0.15}") double binarizeThreshold,
+                                @Value("${ocr.preprocess.deskew-max-angle:5}") double deskewMaxAngle,
+                                @Value("${ocr.preprocess.deskew-step:0.5}") double deskewStep) {
+        this.enabled = enabled;
+        this.downscale = downscale;
+        this.grayscale = grayscale;
+        this.binarize = binarize;
+        this.deskew = deskew;
+        this.targetDpi = targetDpi;
+        this.pageShortEdgeInches = pageShortEdgeInches;
+        this.binarizeWindow = binarizeWindow;
+        this.binarizeThreshold = binarizeThreshold;
+        this.deskewMaxAngle = deskewMaxAngle;
+        this.deskewStep = deskewStep;
+    }
+
+    /**
+     * 预处理图片；未启用任何步骤时原样返回
+     */
+    public BufferedImage process(BufferedImage source) {
+        if (!enabled) {
+            return source;
+        }
+        BufferedImage image = source;
+        if (downscale) {
+            image = downscale(image);
+        }
+        if (grayscale || binarize || deskew) {
+            image = toGray(image);
+        }
+        if (binarize) {
+            image = binarize(image);
+        }
+        if (deskew) {
+            image = deskew(image);
+        }
+        return image;
+    }
+
+    /**
+     * 按页面短边缩放到目标DPI；多次减半再做一次双线性插值，避免一次大比例缩小产生锯齿
+     */
+    BufferedImage downscale(BufferedImage image) {
+        int shortEdge = Math.min(image.getWidth(), image.getHeight());
+        int targetShortEdge = (int) Math.round(targetDpi * pageShortEdgeInches);
+        if (targetShortEdge <= 0 || shortEdge <= targetShortEdge) {
+            return image;
+        }
+        double scale = (double) targetShortEdge / shortEdge;
+        int targetWidth = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        BufferedImage current = image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            current = resize(current, width, height);
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    /**
+     * 转为灰度图；总是生成新图，保证后续步骤可以按 width 作为行跨度直接访问像素数组
+     */
+    BufferedImage toGray(BufferedImage image) {
+        BufferedImage gray = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D g = gray.createGraphics();
+        try {
+            // 透明背景按白色处理
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, image.getWidth(), image.getHeight());
+            g.drawImage(image, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return gray;
+    }
+
+    /**
+     * 自适应二值化：像素值低于以它为中心的窗口均值的 (1 - threshold) 倍时置黑，否则置白
+     */
+    BufferedImage binarize(BufferedImage gray) {
+        int width = gray.getWidth();
+        int height = gray.getHeight();
+        byte[] pixels = ((DataBufferByte) gray.getRaster().getDataBuffer()).getData();
+
+        // 积分图，(width+1)*(height+1)，第0行第0列为0
+        long[] integral = new long[(width + 1) * (height + 1)];
+        for (int y = 0; y < height; y++) {
+            long rowSum = 0;
+            int row = y * width;
+            int base = (y + 1) * (width + 1);
+            int above = y * (width + 1);
+            for (int x = 0; x < width; x++) {
+                rowSum += pixels[row + x] & 0xFF;
+                integral[base + x + 1] = integral[above + x + 1] + rowSum;
+            }
+        }
+
+        int window = binarizeWindow > 0 ? binarizeWindow : Math.max(15, Math.max(width, height) / 16);
+        int half = window / 2;
+        BufferedImage binary = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+        byte[] out = ((DataBufferByte) binary.getRaster().getDataBuffer()).getData();
+        double factor = 1.0 - binarizeThreshold;
+        for (int y = 0; y < height; y++) {
+            int y0 = Math.max(0, y - half);
+            int y1 = Math.min(height - 1, y + half);
+            for (int x = 0; x < width; x++) {
+                int x0 = Math.max(0, x - half);
+                int x1 = Math.min(width - 1, x + half);
+                long sum = integral[(y1 + 1) * (width + 1) + x1 + 1] - integral[y0 * (width + 1) + x1 + 1]
+                        - integral[(y1 + 1) * (width + 1) + x0] + integral[y0 * (width + 1) + x0];
+                int count = (x1 - x0 + 1) * (y1 - y0 + 1);
+                int value = pixels[y * width + x] & 0xFF;
+                out[y * width + x] = (long) value * count < sum * factor ? (byte) 0 : (byte) 0xFF;
+            }
+        }
+        return binary;
+    }
+
+    /**
+     * 纠偏：文字行与水平方向对齐时，水平投影最“尖锐”（相邻行深色像素数之差的平方和最大）
+     */
+    BufferedImage deskew(BufferedImage gray) {
+        if (deskewMaxAngle <= 0 || deskewStep <= 0) {
+            return gray;
+        }
+        double angle = detectSkew(gray);
+        if (Math.abs(angle) < deskewStep / 2) {
+            return gray;
+        }
+        return rotate(gray, -angle);
+    }
+
+    /**
+     * 估计文字行的倾斜角度（度，顺时针为正）
+     */
+    double detectSkew(BufferedImage gray) {
+        // 在缩小后的图上搜索，最长边不超过1000像素
+        int longEdge = Math.max(gray.getWidth(), gray.getHeight());
+        int sample = Math.max(1, (longEdge + 999) / 1000);
+        int width = gray.getWidth() / sample;
+        int height = gray.getHeight() / sample;
+        if (width < 8 || height < 8) {
+            return 0;
+        }
+        byte[] pixels = ((DataBufferByte) gray.getRaster().getDataBuffer()).getData();
+        int stride = gray.getWidth();
+
+        // 收集深色像素坐标（相对中心）
+        int[] xs = new int[width * height / 4 + 16];
+        int[] ys = new int[xs.length];
+        int dark = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if ((pixels[(y * sample) * stride + x * sample] & 0xFF) < 128) {
+                    if (dark == xs.length) {
+                        xs = Arrays.copyOf(xs, dark * 2);
+                        ys = Arrays.copyOf(ys, dark * 2);
+                    }
+                    xs[dark] = x - width / 2;
+                    ys[dark] = y - height / 2;
+                    dark++;
+                }
+            }
+        }
+        if (dark == 0) {
+            return 0;
+        }
+
+        int diagonal = (int) Math.ceil(Math.sqrt((double) width * width + (double) height * height));
+        int[] rows = new int[diagonal + 1];
+        double bestAngle = 0;
+        double bestScore = -1;
+        int steps = (int) Math.floor(deskewMaxAngle / deskewStep);
+        for (int i = -steps; i <= steps; i++) {
+            double angle = i * deskewStep;
+            double radians = Math.toRadians(angle);
+            double sin = Math.sin(radians);
+            double cos = Math.cos(radians);
+            Arrays.fill(rows, 0);
+            for (int p = 0; p < dark; p++) {
+                // 将点旋转 -angle 后的纵坐标
+                int row = (int) Math.round(ys[p] * cos - xs[p] * sin) + diagonal / 2;
+                if (row >= 0 && row < rows.length) {
+                    rows[row]++;
+                }
+            }
+            double score = 0;
+            for (int r = 1; r < rows.length; r++) {
+                double diff = rows[r] - rows[r - 1];
+                score += diff * diff;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestAngle = angle;
+            }
+        }
+        return bestAngle;
+    }
+
+    private static BufferedImage rotate(BufferedImage gray, double angle) {
+        int width = gray.getWidth();
+        int height = gray.getHeight();
+        BufferedImage rotated = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D g = rotated.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+            g.drawImage(gray, AffineTransform.getRotateInstance(Math.toRadians(angle), width / 2.0, height / 2.0), null);
+        } finally {
+            g.dispose();
+        }
+        return rotated;
+    }
+
+    private static BufferedImage resize(BufferedImage image, int width, int height) {
+        int type = image.getType() == BufferedImage.TYPE_BYTE_GRAY ? BufferedImage.TYPE_BYTE_GRAY : BufferedImage.TYPE_INT_RGB;
+        BufferedImage resized = new BufferedImage(width, height, type);
+        Graphics2D g = resized.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return resized;
+    }
+}
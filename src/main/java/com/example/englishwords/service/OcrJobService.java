@@ -0,0 +1,192 @@
+package com.example.englishwords.service;
+
+import com.example.englishwords.entity.Word;
+import com.example.englishwords.service.OcrJobStore.OcrJob;
+import net.sourceforge.tess4j.TesseractException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 异步OCR识别任务
+ * 上传接口只创建任务并立即返回任务ID，识别在有界线程池中执行，不占用Web请求线程；
+ * 队列已满时拒绝新任务。客户端通过轮询或 SSE 获取任务状态和解析出的单词。
+ */
+@Service
+public class OcrJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OcrJobService.class);
+
+    private static final String LANGUAGE = "eng+chi_sim";
+
+    @Autowired
+    private OcrService ocrService;
+
+    @Autowired
+    private WordTextParser wordTextParser;
+
+    @Autowired
+    private WordService wordService;
+
+    @Autowired
+    private OcrJobStore ocrJobStore;
+
+    private final ThreadPoolExecutor executor;
+    private final long sseTimeoutMillis;
+
+    public OcrJobService(TesseractPool tesseractPool,
+                         @Value("${ocr.job.workers:0}") int workers,
+                         @Value("${ocr.job.queue-capacity:100}") int queueCapacity,
+                         @Value("${ocr.job.sse-timeout-ms:120000}") long sseTimeoutMillis) {
+        int threads = workers > 0 ? workers : tesseractPool.getSize();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "ocr-job-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.sseTimeoutMillis = sseTimeoutMillis;
+    }
+
+    /**
+     * 提交识别任务
+     * @param imageBytes 图片内容（请求结束后上传的临时文件会被删除，因此先读入内存）
+     * @param save 识别完成后是否直接保存单词
+     * @throws RejectedExecutionException 任务队列已满
+     */
+    public OcrJob submit(byte[] imageBytes, Integer grade, Integer unit, boolean save) {
+        OcrJob job = ocrJobStore.create(grade, unit, save);
+        try {
+            executor.execute(() -> run(job, imageBytes));
+        } catch (RejectedExecutionException e) {
+            ocrJobStore.remove(job.getId());
+            logger.warn("OCR任务队列已满, 拒绝任务, 排队数: {}", executor.getQueue().size());
+            throw e;
+        }
+        logger.debug("OCR任务已提交, jobId: {}, 排队数: {}", job.getId(), executor.getQueue().size());
+        return job;
+    }
+
+    /**
+     * 在OCR工作线程池中执行一个任务（批量识别时每页一个任务）
+     * @throws RejectedExecutionException 任务队列已满
+     */
+    public <T> Future<T> submitTask(Callable<T> task) {
+        return executor.submit(task);
+    }
+
+    public OcrJob getJob(String jobId) {
+        return ocrJobStore.get(jobId);
+    }
+
+    /**
+     * 订阅任务状态；每次状态变化发送一个 status 事件，任务结束后关闭连接
+     */
+    public SseEmitter subscribe(OcrJob job) {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMillis);
+        // 订阅后、发送当前状态前任务可能恰好结束，最终状态会被通知和主动发送各一次；
+        // 发送串行进行，最终状态只发送一次，之后不再发送任何状态
+        AtomicBoolean finishedSent = new AtomicBoolean();
+        Consumer<OcrJob> listener = changed -> {
+            synchronized (finishedSent) {
+                if (finishedSent.get()) {
+                    return;
+                }
+                Map<String, Object> data = toMap(changed);
+                boolean finished = OcrJobStore.Status.valueOf((String) data.get("status")).isFinished();
+                try {
+                    emitter.send(SseEmitter.event().name("status").data(data));
+                    if (finished) {
+                        finishedSent.set(true);
+                        emitter.complete();
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // 客户端已断开
+                    finishedSent.set(true);
+                    emitter.completeWithError(e);
+                }
+            }
+        };
+        Runnable cleanup = () -> job.unsubscribe(listener);
+        emitter.onCompletion(cleanup);
+        emitter.onTimeout(cleanup);
+        emitter.onError(e -> cleanup.run());
+
+        // 先订阅再发送当前状态，不会漏掉其间的变化；已结束的任务不会订阅成功，发送最终状态后即关闭连接
+        job.subscribe(listener);
+        listener.accept(job);
+        return emitter;
+    }
+
+    /**
+     * 任务状态的响应数据
+     */
+    public Map<String, Object> toMap(OcrJob job) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("jobId", job.getId());
+        data.put("status", job.getStatus().name());
+        data.put("grade", job.getGrade());
+        data.put("unit", job.getUnit());
+        data.put("save", job.isSave());
+        if (job.getMessage() != null) {
+            data.put("message", job.getMessage());
+        }
+        if (job.getStatus() == OcrJobStore.Status.SUCCEEDED) {
+            data.put("data", job.getWords());
+            if (job.getFailures() != null) {
+                data.put("failures", job.getFailures());
+            }
+            data.put("extractedText", job.getExtractedText());
+        }
+        return data;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(OcrJob job, byte[] imageBytes) {
+        job.markRunning();
+        long start = System.currentTimeMillis();
+        try {
+            String extractedText = ocrService.extractTextFromImage(imageBytes, LANGUAGE);
+            List<Word> words = wordTextParser.parse(extractedText, job.getGrade(), job.getUnit());
+            if (job.isSave()) {
+                WordService.BulkResult result = wordService.addWords(words);
+                job.succeed(result.getSaved(), result.getFailures(), extractedText, "单词上传并识别成功");
+            } else {
+                job.succeed(words, extractedText, "识别完成，请检查并编辑后保存");
+            }
+            logger.debug("OCR任务完成, jobId: {}, 单词数: {}, 耗时: {}ms",
+                    job.getId(), words.size(), System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            job.fail("图片读取失败: " + e.getMessage());
+        } catch (TesseractException e) {
+            job.fail("OCR识别失败: " + e.getMessage());
+        } catch (Exception e) {
+            logger.error("OCR任务执行失败, jobId: {}", job.getId(), e);
+            job.fail("服务器内部错误: " + e.getMessage());
+        }
+    }
+}
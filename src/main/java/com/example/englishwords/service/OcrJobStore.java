@@ -0,0 +1,219 @@
+package com.example.englishwords.service;
+
+import com.example.englishwords.entity.Word;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * OCR识别任务存储
+ * 容量有上限，超出时淘汰最早创建的任务；任务在创建后超过有效期即被清除，
+ * 客户端需要在有效期内取回识别结果。
+ */
+@Component
+public class OcrJobStore {
+
+    private final int maxJobs;
+    private final long ttlMillis;
+    private final LinkedHashMap<String, OcrJob> jobs = new LinkedHashMap<>();
+
+    public OcrJobStore(@Value("${ocr.job.max-jobs:1000}") int maxJobs,
+                       @Value("${ocr.job.ttl-minutes:30}") long ttlMinutes) {
+        this.maxJobs = maxJobs;
+        this.ttlMillis = ttlMinutes * 60 * 1000L;
+    }
+
+    /**
+     * 创建一个排队中的任务
+     * @param save 识别完成后是否直接保存单词
+     */
+    public OcrJob create(Integer grade, Integer unit, boolean save) {
+        long now = System.currentTimeMillis();
+        OcrJob job = new OcrJob(UUID.randomUUID().toString(), grade, unit, save, now);
+        synchronized (jobs) {
+            purgeExpired(now);
+            jobs.put(job.getId(), job);
+            Iterator<OcrJob> iterator = jobs.values().iterator();
+            while (jobs.size() > maxJobs && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        return job;
+    }
+
+    /**
+     * 查询任务，不存在或已过期时返回null
+     */
+    public OcrJob get(String jobId) {
+        long now = System.currentTimeMillis();
+        synchronized (jobs) {
+            purgeExpired(now);
+            return jobs.get(jobId);
+        }
+    }
+
+    public void remove(String jobId) {
+        synchronized (jobs) {
+            jobs.remove(jobId);
+        }
+    }
+
+    private void purgeExpired(long now) {
+        // 任务按创建时间顺序排列，遇到第一个未过期的即可停止
+        Iterator<Map.Entry<String, OcrJob>> iterator = jobs.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().getValue().getCreatedAt() <= ttlMillis) {
+                break;
+            }
+            iterator.remove();
+        }
+    }
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED;
+
+        public boolean isFinished() {
+            return this == SUCCEEDED || this == FAILED;
+        }
+    }
+
+    /**
+     * 一个OCR识别任务；状态只由执行任务的线程推进，变化时通知订阅者
+     */
+    public static final class OcrJob {
+        private final String id;
+        private final Integer grade;
+        private final Integer unit;
+        private final boolean save;
+        private final long createdAt;
+
+        private Status status = Status.QUEUED;
+        private List<Word> words;
+        private List<WordService.Failure> failures;
+        private String extractedText;
+        private String message;
+        private long finishedAt;
+        private final List<Consumer<OcrJob>> listeners = new ArrayList<>();
+
+        OcrJob(String id, Integer grade, Integer unit, boolean save, long createdAt) {
+            this.id = id;
+            this.grade = grade;
+            this.unit = unit;
+            this.save = save;
+            this.createdAt = createdAt;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public Integer getGrade() {
+            return grade;
+        }
+
+        public Integer getUnit() {
+            return unit;
+        }
+
+        public boolean isSave() {
+            return save;
+        }
+
+        public long getCreatedAt() {
+            return createdAt;
+        }
+
+        public synchronized Status getStatus() {
+            return status;
+        }
+
+        public synchronized List<Word> getWords() {
+            return words;
+        }
+
+        /**
+         * 保存单词时未能保存的单词及原因，不保存的任务为null
+         */
+        public synchronized List<WordService.Failure> getFailures() {
+            return failures;
+        }
+
+        public synchronized String getExtractedText() {
+            return extractedText;
+        }
+
+        public synchronized String getMessage() {
+            return message;
+        }
+
+        public synchronized long getFinishedAt() {
+            return finishedAt;
+        }
+
+        /**
+         * 订阅状态变化；任务已结束时返回false，调用方应直接读取结果
+         */
+        public synchronized boolean subscribe(Consumer<OcrJob> listener) {
+            if (status.isFinished()) {
+                return false;
+            }
+            listeners.add(listener);
+            return true;
+        }
+
+        public synchronized void unsubscribe(Consumer<OcrJob> listener) {
+            listeners.remove(listener);
+        }
+
+        void markRunning() {
+            update(Status.RUNNING, null, null, null, null);
+        }
+
+        void succeed(List<Word> words, String extractedText, String message) {
+            update(Status.SUCCEEDED, words, null, extractedText, message);
+        }
+
+        /**
+         * 识别并保存完成
+         * @param failures 未能保存的单词及原因
+         */
+        void succeed(List<Word> words, List<WordService.Failure> failures, String extractedText, String message) {
+            update(Status.SUCCEEDED, words, failures, extractedText, message);
+        }
+
+        void fail(String message) {
+            update(Status.FAILED, null, null, null, message);
+        }
+
+        private void update(Status newStatus, List<Word> newWords, List<WordService.Failure> newFailures,
+                            String newText, String newMessage) {
+            List<Consumer<OcrJob>> targets;
+            synchronized (this) {
+                status = newStatus;
+                words = newWords;
+                failures = newFailures;
+                extractedText = newText;
+                message = newMessage;
+                if (newStatus.isFinished()) {
+                    finishedAt = System.currentTimeMillis();
+                    targets = new ArrayList<>(listeners);
+                    listeners.clear();
+                } else {
+                    targets = new ArrayList<>(listeners);
+                }
+            }
+            // 在锁外通知，订阅者可能执行较慢的网络写入
+            for (Consumer<OcrJob> listener : targets) {
+                listener.accept(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.englishwords.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OCR识别结果缓存
+ * 以图片内容的 SHA-256 加语言为键，同一页教材重复上传时直接返回上次的识别文本。
+ * 内存中按文本占用的字节数限制总大小（LRU淘汰）；配置了 ocr.cache.dir 时同时写入本地目录，
+ * 重启后或被内存淘汰后仍可从磁盘命中。
+ */
+@Component
+public class OcrResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(OcrResultCache.class);
+
+    // 每个条目除文本外的大致开销（键、节点、对象头）
+    private static final int ENTRY_OVERHEAD = 160;
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    });
+
+    private final long maxBytes;
+    private final Path directory;
+    private final LinkedHashMap<String, String> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public OcrResultCache(@Value("${ocr.cache.max-bytes:16777216}") long maxBytes,
+                          @Value("${ocr.cache.dir:}") String directory) {
+        this.maxBytes = maxBytes;
+        this.directory = directory == null || directory.trim().isEmpty() ? null : Paths.get(directory.trim());
+        if (this.directory != null) {
+            try {
+                Files.createDirectories(this.directory);
+            } catch (IOException e) {
+                throw new IllegalStateException("无法创建OCR缓存目录: " + this.directory, e);
+            }
+        }
+    }
+
+    /**
+     * 计算缓存键：图片内容的 SHA-256（十六进制）加语言
+     */
+    public String key(byte[] imageBytes, String language) {
+        return key(hash(imageBytes), language);
+    }
+
+    /**
+     * 由已计算的内容摘要得到缓存键，同一文件的多页只需计算一次摘要
+     * @param contentHash hash(byte[]) 的结果
+     */
+    public String key(String contentHash, String language) {
+        return contentHash + '_' + language;
+    }
+
+    /**
+     * 图片内容的 SHA-256（十六进制）
+     */
+    public String hash(byte[] imageBytes) {
+        byte[] digest = SHA256.get().digest(imageBytes);
+        StringBuilder hex = new StringBuilder(digest.length * 2);
+        for (byte b : digest) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * 查询缓存的识别文本，未命中时返回null
+     */
+    public String get(String key) {
+        String text;
+        synchronized (entries) {
+            text = entries.get(key);
+        }
+        if (text != null) {
+            hits.incrementAndGet();
+            return text;
+        }
+        if (directory != null) {
+            Path file = file(key);
+            if (Files.isRegularFile(file)) {
+                try {
+                    text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+                    diskHits.incrementAndGet();
+                    putInMemory(key, text);
+                    return text;
+                } catch (IOException e) {
+                    logger.warn("读取OCR缓存文件失败: {}, {}", file, e.getMessage());
+                }
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public void put(String key, String text) {
+        putInMemory(key, text);
+        if (directory != null) {
+            Path file = file(key);
+            try {
+                // 先写临时文件再改名，其他线程不会读到写了一半的文件
+                Path temp = Files.createTempFile(directory, "ocr", ".tmp");
+                Files.write(temp, text.getBytes(StandardCharsets.UTF_8));
+                try {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException e) {
+                logger.warn("写入OCR缓存文件失败: {}, {}", file, e.getMessage());
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (entries) {
+            stats.put("entries", entries.size());
+            stats.put("usedBytes", usedBytes);
+        }
+        stats.put("maxBytes", maxBytes);
+        stats.put("hits", hits.get());
+        stats.put("diskHits", diskHits.get());
+        stats.put("misses", misses.get());
+        stats.put("diskEnabled", directory != null);
+        return stats;
+    }
+
+    private void putInMemory(String key, String text) {
+        long size = weight(text);
+        if (size > maxBytes) {
+            return;
+        }
+        synchronized (entries) {
+            String previous = entries.put(key, text);
+            if (previous != null) {
+                usedBytes -= weight(previous);
+            }
+            usedBytes += size;
+            Iterator<String> iterator = entries.values().iterator();
+            while (usedBytes > maxBytes && iterator.hasNext()) {
+                usedBytes -= weight(iterator.next());
+                iterator.remove();
+            }
+        }
+    }
+
+    private static long weight(String text) {
+        return ENTRY_OVERHEAD + 2L * text.length();
+    }
+
+    private Path file(String key) {
+        // 语言只允许字母、数字和 +，避免拼出目录外的路径
+        return directory.resolve(key.replaceAll("[^A-Za-z0-9_+]", "") + ".txt");
+    }
+}
@@ -1,32 +1,41 @@
 package com.example.englishwords.service;
 
-import net.sourceforge.tess4j.ITesseract;
-import net.sourceforge.tess4j.Tesseract;
 import net.sourceforge.tess4j.TesseractException;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Locale;
 
 @Service
 public class OcrService {
     
-    private final ITesseract tesseract;
+    private static final Logger logger = LoggerFactory.getLogger(OcrService.class);
     
-    public OcrService() {
-        tesseract = new Tesseract();
-        // 设置tessdata路径
-        try {
-            // 设置tessdata目录路径
-            tesseract.setDatapath("./tessdata");
-            System.out.println("OCR Service initialized with tessdata path: ./tessdata");
-        } catch (Exception e) {
-            System.err.println("Failed to initialize OCR service: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
+    // 日志中OCR文本的最大长度，完整结果只返回给调用方
+    private static final int MAX_LOGGED_TEXT = 200;
+    
+    @Autowired
+    private TiledOcrRecognizer tiledOcrRecognizer;
+    
+    @Autowired
+    private OcrResultCache ocrResultCache;
+    
+    @Autowired
+    private OcrImagePreprocessor ocrImagePreprocessor;
     
     /**
      * 从图片文件中提取文本
@@ -36,29 +45,127 @@ public class OcrService {
      * @throws TesseractException Tesseract异常
      */
     public String extractTextFromImage(MultipartFile imageFile) throws IOException, TesseractException {
+        return extractTextFromImage(imageFile, TesseractPool.DEFAULT_LANGUAGE);
+    }
+    
+    /**
+     * 从图片文件中提取文本（带语言设置）
+     * @param imageFile 图片文件
+     * @param language 语言代码（如 "eng" 英语, "chi_sim" 简体中文）
+     * @return 提取的文本
+     * @throws IOException IO异常
+     * @throws TesseractException Tesseract异常
+     */
+    public String extractTextFromImage(MultipartFile imageFile, String language) throws IOException, TesseractException {
+        logger.debug("开始识别图片, 语言: {}, 文件: {}, 大小: {}", language,
+                imageFile.getOriginalFilename(), imageFile.getSize());
+        return extractTextFromImage(imageFile.getBytes(), language);
+    }
+    
+    /**
+     * 从图片内容中提取文本（带语言设置），用于请求结束后在后台执行的识别任务
+     * @param imageBytes 图片内容
+     * @param language 语言代码
+     * @return 提取的文本
+     * @throws IOException IO异常
+     * @throws TesseractException Tesseract异常
+     */
+    public String extractTextFromImage(byte[] imageBytes, String language) throws IOException, TesseractException {
+        return extractTextFromImage(imageBytes, ocrResultCache.hash(imageBytes), language);
+    }
+    
+    /**
+     * 从图片内容中提取文本，内容摘要由调用方预先计算
+     * @param imageBytes 图片内容
+     * @param contentHash OcrResultCache.hash(imageBytes) 的结果
+     * @param language 语言代码
+     * @return 提取的文本
+     * @throws IOException IO异常
+     * @throws TesseractException Tesseract异常
+     */
+    public String extractTextFromImage(byte[] imageBytes, String contentHash, String language)
+            throws IOException, TesseractException {
+        return extractText(contentHash, -1, language, () -> ImageIO.read(new ByteArrayInputStream(imageBytes)));
+    }
+    
+    /**
+     * 从多页图片（TIFF）的某一页中提取文本
+     * @param image openPages 打开的文件
+     * @param pageIndex 页码，从0开始
+     * @param language 语言代码
+     * @return 提取的文本
+     * @throws IOException IO异常
+     * @throws TesseractException Tesseract异常
+     */
+    public String extractTextFromPage(PagedImage image, int pageIndex, String language) throws IOException, TesseractException {
+        return extractText(image.getContentHash(), pageIndex, language, () -> image.read(pageIndex));
+    }
+    
+    /**
+     * 打开图片文件：只计算一次内容摘要，TIFF 的各页共用同一个 ImageReader，
+     * 不必为每一页重新解析整个文件；用完后需要关闭
+     * @throws IOException 无法识别的图片格式
+     */
+    public PagedImage openPages(byte[] fileBytes) throws IOException {
+        // 内存中的输入流，不在临时目录中创建缓存文件
+        ImageInputStream input = new MemoryCacheImageInputStream(new ByteArrayInputStream(fileBytes));
+        try {
+            ImageReader reader = readerFor(input);
+            try {
+                String format = reader.getFormatName().toLowerCase(Locale.ROOT);
+                reader.setInput(input);
+                int pageCount = format.startsWith("tif") ? reader.getNumImages(true) : 1;
+                return new PagedImage(fileBytes, ocrResultCache.hash(fileBytes), input, reader, pageCount);
+            } catch (IOException | RuntimeException e) {
+                reader.dispose();
+                throw e;
+            }
+        } catch (IOException | RuntimeException e) {
+            input.close();
+            throw e;
+        }
+    }
+    
+    private String extractText(String contentHash, int pageIndex, String language, ImageLoader loader)
+            throws IOException, TesseractException {
+        // 同一张图片（页）、同一语言的识别结果直接从缓存返回
+        String normalizedLanguage = language == null || language.trim().isEmpty()
+                ? TesseractPool.DEFAULT_LANGUAGE : language.trim();
+        String cacheKey = ocrResultCache.key(contentHash,
+                pageIndex < 0 ? normalizedLanguage : normalizedLanguage + "_p" + pageIndex);
+        String cached = ocrResultCache.get(cacheKey);
+        if (cached != null) {
+            logger.debug("OCR结果缓存命中, 文本长度: {}", cached.length());
+            return cached;
+        }
+        
         BufferedImage bufferedImage = null;
         try {
-            System.out.println("Processing image file: " + imageFile.getOriginalFilename());
-            System.out.println("File size: " + imageFile.getSize());
-            
             // 读取图片到内存
-            byte[] imageBytes = imageFile.getBytes();
-            bufferedImage = ImageIO.read(new java.io.ByteArrayInputStream(imageBytes));
+            bufferedImage = loader.load();
             if (bufferedImage == null) {
                 throw new IOException("Failed to read image file");
             }
             
-            String result = tesseract.doOCR(bufferedImage);
-            System.out.println("OCR result: " + result);
+            // 缩小、灰度化、二值化、纠偏，减少 Tesseract 需要处理的像素
+            final BufferedImage image = ocrImagePreprocessor.process(bufferedImage);
+            
+            // 从引擎池借用引擎识别，较高的图片分块并行识别
+            String result = tiledOcrRecognizer.recognize(image, language);
+            if (logger.isDebugEnabled()) {
+                logger.debug("OCR识别完成, 文本长度: {}, 内容: {}", result.length(),
+                        StringUtils.abbreviate(result, MAX_LOGGED_TEXT));
+            }
+            ocrResultCache.put(cacheKey, result);
             return result;
         } catch (IOException e) {
-            System.err.println("IO error during OCR processing: " + e.getMessage());
+            logger.warn("OCR读取图片失败: {}", e.getMessage());
             throw e;
         } catch (TesseractException e) {
-            System.err.println("Tesseract error during OCR processing: " + e.getMessage());
+            logger.warn("Tesseract识别失败, 语言: {}, {}", language, e.getMessage());
             throw e;
         } catch (Exception e) {
-            System.err.println("Unexpected error during OCR processing: " + e.getMessage());
+            logger.error("OCR识别出现未知错误", e);
             throw new TesseractException("Unexpected error: " + e.getMessage(), e);
         } finally {
             // 释放图片资源
@@ -68,22 +175,75 @@ public class OcrService {
         }
     }
     
+    private static ImageReader readerFor(ImageInputStream input) throws IOException {
+        Iterator<ImageReader> readers = input == null
+                ? Collections.<ImageReader>emptyIterator() : ImageIO.getImageReaders(input);
+        if (!readers.hasNext()) {
+            throw new IOException("无法识别的图片格式");
+        }
+        return readers.next();
+    }
+    
+    private interface ImageLoader {
+        BufferedImage load() throws IOException;
+    }
+    
     /**
-     * 从图片文件中提取文本（带语言设置）
-     * @param imageFile 图片文件
-     * @param language 语言代码（如 "eng" 英语, "chi_sim" 简体中文）
-     * @return 提取的文本
-     * @throws IOException IO异常
-     * @throws TesseractException Tesseract异常
+     * 打开的图片文件，批量识别时同一文件的各页共用
+     * ImageReader 不是线程安全的，各页的解码串行进行，较慢的预处理和识别仍在各自的线程中并行
      */
-    public String extractTextFromImage(MultipartFile imageFile, String language) throws IOException, TesseractException {
-        try {
-            System.out.println("Processing image file with language '" + language + "': " + imageFile.getOriginalFilename());
-            tesseract.setLanguage(language);
-            return extractTextFromImage(imageFile);
-        } catch (Exception e) {
-            System.err.println("Error during OCR processing with language '" + language + "': " + e.getMessage());
-            throw e;
+    public static final class PagedImage implements Closeable {
+        private final byte[] bytes;
+        private final String contentHash;
+        private final ImageInputStream input;
+        private final ImageReader reader;
+        private final int pageCount;
+        private boolean closed;
+        
+        private PagedImage(byte[] bytes, String contentHash, ImageInputStream input, ImageReader reader, int pageCount) {
+            this.bytes = bytes;
+            this.contentHash = contentHash;
+            this.input = input;
+            this.reader = reader;
+            this.pageCount = pageCount;
+        }
+        
+        /**
+         * 文件内容，单页图片按整张图片识别
+         */
+        public byte[] getBytes() {
+            return bytes;
+        }
+        
+        /**
+         * 文件内容的 SHA-256，用于OCR结果缓存键
+         */
+        public String getContentHash() {
+            return contentHash;
+        }
+        
+        /**
+         * 页数：TIFF 为其中的页数，其他格式为1
+         */
+        public int getPageCount() {
+            return pageCount;
+        }
+        
+        synchronized BufferedImage read(int pageIndex) throws IOException {
+            if (closed) {
+                throw new IOException("文件已关闭");
+            }
+            return reader.read(pageIndex);
+        }
+        
+        @Override
+        public synchronized void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            reader.dispose();
+            input.close();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,170 @@
+package com.example.englishwords.service;
+
+import net.sourceforge.tess4j.ITesseract;
+import net.sourceforge.tess4j.Tesseract;
+import net.sourceforge.tess4j.TesseractException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tesseract 引擎池
+ * Tesseract 实例持有原生状态且不是线程安全的，语言也是实例上的设置，
+ * 因此每个引擎在同一时刻只被一个线程使用，并按语言组合（如 "eng+chi_sim"）分别保留空闲引擎。
+ * 同时进行的识别数不超过池大小（默认为CPU核数），调用方最多等待 acquire-timeout-ms。
+ * 引擎在第一次使用时才创建，原生库随第一次识别加载，不占用应用启动时间。
+ */
+@Component
+public class TesseractPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(TesseractPool.class);
+
+    public static final String DEFAULT_LANGUAGE = "eng";
+
+    private final String datapath;
+    private final int size;
+    private final long acquireTimeoutMillis;
+    private final Semaphore permits;
+    private final Map<String, Deque<ITesseract>> idle = new ConcurrentHashMap<>();
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicLong acquisitions = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong recognitions = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong totalOcrNanos = new AtomicLong();
+    private final AtomicLong maxOcrNanos = new AtomicLong();
+
+    public TesseractPool(@Value("${ocr.tessdata-path:./tessdata}") String datapath,
+                         @Value("${ocr.pool.size:0}") int size,
+                         @Value("${ocr.pool.acquire-timeout-ms:30000}") long acquireTimeoutMillis) {
+        this.datapath = datapath;
+        this.size = size > 0 ? size : Runtime.getRuntime().availableProcessors();
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.permits = new Semaphore(this.size, true);
+        logger.info("OCR引擎池已创建, tessdata路径: {}, 大小: {}, 等待超时: {}ms",
+                datapath, this.size, acquireTimeoutMillis);
+    }
+
+    /**
+     * 在池中的引擎上执行一次识别
+     * @param language 语言代码（如 "eng"、"eng+chi_sim"），为空时使用英语
+     * @param task 使用引擎的识别操作
+     * @throws TesseractException 识别失败，或等待空闲引擎超时
+     */
+    public <T> T execute(String language, EngineTask<T> task) throws TesseractException {
+        String key = language == null || language.trim().isEmpty() ? DEFAULT_LANGUAGE : language.trim();
+        long waitStart = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TesseractException("等待OCR引擎时被中断", e);
+        }
+        long waitNanos = System.nanoTime() - waitStart;
+        if (!acquired) {
+            timeouts.incrementAndGet();
+            logger.warn("等待OCR引擎超时, language: {}, 等待: {}ms", key, acquireTimeoutMillis);
+            throw new TesseractException("OCR引擎繁忙，请稍后重试");
+        }
+        acquisitions.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        updateMax(maxWaitNanos, waitNanos);
+        inUse.incrementAndGet();
+
+        Deque<ITesseract> engines = idle.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>());
+        ITesseract engine = engines.pollFirst();
+        if (engine == null) {
+            engine = newEngine(key);
+        }
+        boolean healthy = false;
+        long ocrStart = System.nanoTime();
+        try {
+            T result = task.run(engine);
+            healthy = true;
+            return result;
+        } finally {
+            long ocrNanos = System.nanoTime() - ocrStart;
+            recognitions.incrementAndGet();
+            totalOcrNanos.addAndGet(ocrNanos);
+            updateMax(maxOcrNanos, ocrNanos);
+            if (healthy) {
+                engines.offerFirst(engine);
+            } else {
+                // 识别出错后引擎状态不确定，丢弃，下次按需重建
+                failures.incrementAndGet();
+                created.decrementAndGet();
+            }
+            inUse.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * 引擎池运行指标（时间单位为毫秒）
+     */
+    public Map<String, Object> getStats() {
+        long acquired = acquisitions.get();
+        long recognized = recognitions.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("poolSize", size);
+        stats.put("engines", created.get());
+        stats.put("inUse", inUse.get());
+        stats.put("waiting", permits.getQueueLength());
+        stats.put("acquisitions", acquired);
+        stats.put("timeouts", timeouts.get());
+        stats.put("avgWaitMs", acquired == 0 ? 0.0 : nanosToMillis(totalWaitNanos.get()) / acquired);
+        stats.put("maxWaitMs", nanosToMillis(maxWaitNanos.get()));
+        stats.put("recognitions", recognized);
+        stats.put("failures", failures.get());
+        stats.put("avgOcrMs", recognized == 0 ? 0.0 : nanosToMillis(totalOcrNanos.get()) / recognized);
+        stats.put("maxOcrMs", nanosToMillis(maxOcrNanos.get()));
+        return stats;
+    }
+
+    private ITesseract newEngine(String language) {
+        Tesseract tesseract = new Tesseract();
+        tesseract.setDatapath(datapath);
+        tesseract.setLanguage(language);
+        int total = created.incrementAndGet();
+        logger.debug("创建OCR引擎, language: {}, 引擎总数: {}", language, total);
+        return tesseract;
+    }
+
+    private static void updateMax(AtomicLong max, long value) {
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    private static double nanosToMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * 使用一个引擎完成的识别操作
+     */
+    public interface EngineTask<T> {
+        T run(ITesseract engine) throws TesseractException;
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.englishwords.service;
+
+import net.sourceforge.tess4j.TesseractException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * 分块并行识别
+ * 单词表扫描件通常是多行文字，整页交给一个 Tesseract 引擎只能用到一个核。
+ * 对较高的图片，按水平投影找出行与行之间的空白带，在空白处把页面切成若干横条
+ * （不会切断文字行），各横条从引擎池借用引擎并行识别，再按从上到下的顺序拼接文本。
+ * 较小的图片或找不到可切分的空白时整页识别。
+ */
+@Component
+public class TiledOcrRecognizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TiledOcrRecognizer.class);
+
+    // 深色像素比例不超过该值的行视为空白
+    private static final double BLANK_ROW_INK = 0.002;
+
+    private final TesseractPool tesseractPool;
+    private final boolean enabled;
+    private final int minHeight;
+    private final int maxTiles;
+    private final int minGap;
+    private final ForkJoinPool forkJoinPool;
+
+    public TiledOcrRecognizer(TesseractPool tesseractPool,
+                              @Value("${ocr.tiling.enabled:true}") boolean enabled,
+                              @Value("${ocr.tiling.min-height:1500}") int minHeight,
+                              @Value("${ocr.tiling.max-tiles:0}") int maxTiles,
+                              @Value("${ocr.tiling.min-gap:8}") int minGap) {
+        this.tesseractPool = tesseractPool;
+        this.enabled = enabled;
+        this.minHeight = minHeight;
+        this.maxTiles = maxTiles > 0 ? maxTiles : tesseractPool.getSize();
+        this.minGap = Math.max(1, minGap);
+        this.forkJoinPool = new ForkJoinPool(Math.max(1, this.maxTiles));
+    }
+
+    /**
+     * 识别图片中的文本，较高的图片分块并行识别
+     * @param image 已预处理的图片
+     * @param language 语言代码
+     */
+    public String recognize(BufferedImage image, String language) throws TesseractException {
+        List<int[]> bands = enabled && maxTiles > 1 && image.getHeight() >= minHeight
+                ? split(image)
+                : null;
+        if (bands == null || bands.size() < 2) {
+            return tesseractPool.execute(language, engine -> engine.doOCR(image));
+        }
+
+        long start = System.currentTimeMillis();
+        List<ForkJoinTask<String>> tasks = new ArrayList<>(bands.size());
+        for (int[] band : bands) {
+            BufferedImage tile = image.getSubimage(0, band[0], image.getWidth(), band[1] - band[0]);
+            tasks.add(forkJoinPool.submit(() -> tesseractPool.execute(language, engine -> engine.doOCR(tile))));
+        }
+        // 按横条从上到下的顺序拼接
+        StringBuilder text = new StringBuilder();
+        try {
+            for (ForkJoinTask<String> task : tasks) {
+                String part = task.get();
+                text.append(part);
+                if (part.length() > 0 && part.charAt(part.length() - 1) != '\n') {
+                    text.append('\n');
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel(tasks);
+            throw new TesseractException("分块识别被中断", e);
+        } catch (ExecutionException e) {
+            cancel(tasks);
+            Throwable cause = e.getCause();
+            if (cause instanceof TesseractException) {
+                throw (TesseractException) cause;
+            }
+            throw new TesseractException("分块识别失败: " + cause.getMessage(), cause);
+        }
+        logger.debug("分块识别完成, 图片: {}x{}, 分块数: {}, 耗时: {}ms",
+                image.getWidth(), image.getHeight(), bands.size(), System.currentTimeMillis() - start);
+        return text.toString();
+    }
+
+    /**
+     * 按空白带把图片切成不超过 maxTiles 个高度相近的横条
+     * @return 每个横条的 [起始行, 结束行)
+     */
+    List<int[]> split(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        boolean[] blank = blankRows(image);
+
+        // 候选切分位置：足够宽的空白带的中间行
+        List<Integer> cuts = new ArrayList<>();
+        int runStart = -1;
+        for (int y = 0; y <= height; y++) {
+            if (y < height && blank[y]) {
+                if (runStart < 0) {
+                    runStart = y;
+                }
+            } else if (runStart >= 0) {
+                if (y - runStart >= minGap && runStart > 0 && y < height) {
+                    cuts.add((runStart + y) / 2);
+                }
+                runStart = -1;
+            }
+        }
+        List<int[]> bands = new ArrayList<>();
+        if (cuts.isEmpty()) {
+            bands.add(new int[]{0, height});
+            return bands;
+        }
+
+        // 依次选取最接近理想高度的切分位置
+        int target = Math.max(1, height / maxTiles);
+        int top = 0;
+        int next = 0;
+        while (bands.size() < maxTiles - 1 && next < cuts.size()) {
+            int ideal = top + target;
+            int best = -1;
+            for (int i = next; i < cuts.size(); i++) {
+                int cut = cuts.get(i);
+                if (cut - top < target / 2) {
+                    continue;
+                }
+                if (best < 0 || Math.abs(cut - ideal) < Math.abs(cuts.get(best) - ideal)) {
+                    best = i;
+                } else if (cut > ideal) {
+                    break;
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            int cut = cuts.get(best);
+            bands.add(new int[]{top, cut});
+            top = cut;
+            next = best + 1;
+        }
+        bands.add(new int[]{top, height});
+        logger.trace("图片 {}x{} 切分为 {} 个横条", width, height, bands.size());
+        return bands;
+    }
+
+    private static boolean[] blankRows(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        boolean[] blank = new boolean[height];
+        int limit = (int) (width * BLANK_ROW_INK);
+        boolean gray = image.getType() == BufferedImage.TYPE_BYTE_GRAY;
+        Raster raster = image.getRaster();
+        int[] samples = new int[width];
+        int[] rgb = gray ? null : new int[width];
+        for (int y = 0; y < height; y++) {
+            int ink = 0;
+            if (gray) {
+                raster.getSamples(0, y, width, 1, 0, samples);
+                for (int x = 0; x < width; x++) {
+                    if (samples[x] < 128) {
+                        ink++;
+                    }
+                }
+            } else {
+                image.getRGB(0, y, width, 1, rgb, 0, width);
+                for (int x = 0; x < width; x++) {
+                    int p = rgb[x];
+                    int luminance = ((p >> 16 & 0xFF) * 299 + (p >> 8 & 0xFF) * 587 + (p & 0xFF) * 114) / 1000;
+                    if (luminance < 128) {
+                        ink++;
+                    }
+                }
+            }
+            blank[y] = ink <= limit;
+        }
+        return blank;
+    }
+
+    private static void cancel(List<ForkJoinTask<String>> tasks) {
+        for (ForkJoinTask<String> task : tasks) {
+            task.cancel(true);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        forkJoinPool.shutdownNow();
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.englishwords.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 容错判分：忽略大小写、空格、连字符和撇号的差异，允许少量拼写错误并给部分分
+ * <ul>
+ *   <li>标准答案中用 / , ; 分隔的多个写法任意一个匹配即可，括号中的说明不参与比较</li>
+ *   <li>规范化后完全相同得满分</li>
+ *   <li>编辑距离（相邻字符交换算一次，Damerau/OSA）在允许范围内得 typoCredit 分：
+ *       长度不超过3的单词不允许拼错，4~7个字母允许1处，更长的允许2处</li>
+ * </ul>
+ * 比较在线程本地的缓冲区中完成，不分配对象；编辑距离超过上限时立即停止计算。
+ */
+@Component
+public class TypoTolerantAnswerGrader implements AnswerGrader {
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final double typoCredit;
+
+    public TypoTolerantAnswerGrader(@Value("${exam.grading.typo-credit:0.5}") double typoCredit) {
+        this.typoCredit = typoCredit;
+    }
+
+    @Override
+    public double grade(String expected, String answer) {
+        if (expected == null || answer == null) {
+            return 0;
+        }
+        Scratch scratch = SCRATCH.get();
+        int answerLength = normalize(answer, 0, answer.length(), scratch.answer(answer.length()));
+        if (answerLength == 0) {
+            return 0;
+        }
+        char[] answerChars = scratch.answer;
+        char[] candidate = scratch.candidate(expected.length());
+
+        double best = 0;
+        int start = 0;
+        int length = expected.length();
+        while (start <= length) {
+            int end = start;
+            while (end < length && !isAlternativeSeparator(expected.charAt(end))) {
+                end++;
+            }
+            int candidateLength = normalize(expected, start, end, candidate);
+            if (candidateLength > 0) {
+                if (equals(candidate, candidateLength, answerChars, answerLength)) {
+                    return 1.0;
+                }
+                int limit = typoLimit(candidateLength);
+                if (best < typoCredit && limit > 0
+                        && withinDistance(candidate, candidateLength, answerChars, answerLength, limit, scratch)) {
+                    best = typoCredit;
+                }
+            }
+            start = end + 1;
+        }
+        return best;
+    }
+
+    /**
+     * 允许的拼写错误数
+     */
+    static int typoLimit(int length) {
+        if (length <= 3) {
+            return 0;
+        }
+        return length <= 7 ? 1 : 2;
+    }
+
+    /**
+     * 规范化 text[start, end) 写入 out：转小写，去掉空白、连字符、撇号和括号内容
+     * @return 写入的字符数
+     */
+    static int normalize(String text, int start, int end, char[] out) {
+        int length = 0;
+        int depth = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '(' || c == '（') {
+                depth++;
+            } else if (c == ')' || c == '）') {
+                if (depth > 0) {
+                    depth--;
+                }
+            } else if (depth == 0 && !isIgnorable(c)) {
+                out[length++] = Character.toLowerCase(c);
+            }
+        }
+        return length;
+    }
+
+    private static boolean isIgnorable(char c) {
+        switch (c) {
+            case '-':
+            case '‐':
+            case '‑':
+            case '–':
+            case '—':
+            case '_':
+            case '\'':
+            case '‘':
+            case '’':
+            case '`':
+            case '.':
+                return true;
+            default:
+                return Character.isWhitespace(c) || c == ' ' || c == '　';
+        }
+    }
+
+    private static boolean isAlternativeSeparator(char c) {
+        return c == '/' || c == ',' || c == ';' || c == '|' || c == '，' || c == '；' || c == '、';
+    }
+
+    private static boolean equals(char[] a, int aLength, char[] b, int bLength) {
+        if (aLength != bLength) {
+            return false;
+        }
+        for (int i = 0; i < aLength; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 受限的 Damerau–Levenshtein（最优字符串对齐）距离是否不超过 limit
+     * 只计算对角线附近宽度为 2*limit+1 的带状区域，某一行的最小值超过 limit 时提前返回
+     */
+    static boolean withinDistance(char[] a, int n, char[] b, int m, int limit, Scratch scratch) {
+        if (Math.abs(n - m) > limit) {
+            return false;
+        }
+        int[] twoBack = scratch.row(0, m + 1);
+        int[] previous = scratch.row(1, m + 1);
+        int[] current = scratch.row(2, m + 1);
+        int outside = limit + 1;
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j <= limit ? j : outside;
+        }
+        for (int i = 1; i <= n; i++) {
+            int from = Math.max(1, i - limit);
+            int to = Math.min(m, i + limit);
+            current[0] = i <= limit ? i : outside;
+            if (from > 1) {
+                current[from - 1] = outside;
+            }
+            int rowMin = current[0];
+            char ca = a[i - 1];
+            for (int j = from; j <= to; j++) {
+                char cb = b[j - 1];
+                int cost = ca == cb ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && ca == b[j - 2] && a[i - 2] == cb) {
+                    value = Math.min(value, twoBack[j - 2] + 1);
+                }
+                if (value > outside) {
+                    value = outside;
+                }
+                current[j] = value;
+                if (value < rowMin) {
+                    rowMin = value;
+                }
+            }
+            if (to < m) {
+                current[to + 1] = outside;
+            }
+            if (rowMin > limit) {
+                return false;
+            }
+            int[] recycled = twoBack;
+            twoBack = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[m] <= limit;
+    }
+
+    /**
+     * 每个线程复用的缓冲区
+     */
+    static final class Scratch {
+        private char[] answer = new char[64];
+        private char[] candidate = new char[64];
+        private final int[][] rows = {new int[65], new int[65], new int[65]};
+
+        char[] answer(int capacity) {
+            if (answer.length < capacity) {
+                answer = new char[capacity];
+            }
+            return answer;
+        }
+
+        char[] candidate(int capacity) {
+            if (candidate.length < capacity) {
+                candidate = new char[capacity];
+            }
+            return candidate;
+        }
+
+        int[] row(int index, int capacity) {
+            if (rows[index].length < capacity) {
+                rows[index] = new int[capacity];
+            }
+            return rows[index];
+        }
+    }
+}
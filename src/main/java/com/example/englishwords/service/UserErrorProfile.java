@@ -0,0 +1,140 @@
+package com.example.englishwords.service;
+
+import com.example.englishwords.entity.UserWordError;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 学生错题档案的不可变快照
+ * 以按单词ID升序排列的原始数组保存，查询某个单词的错误次数为二分查找。
+ */
+public final class UserErrorProfile {
+
+    static final UserErrorProfile EMPTY = new UserErrorProfile(new long[0], new int[0]);
+
+    private final long[] wordIds;
+    private final int[] counts;
+
+    private UserErrorProfile(long[] wordIds, int[] counts) {
+        this.wordIds = wordIds;
+        this.counts = counts;
+    }
+
+    static UserErrorProfile of(List<UserWordError> errors) {
+        long[] ids = new long[errors.size()];
+        int[] values = new int[errors.size()];
+        int size = 0;
+        for (UserWordError error : errors) {
+            if (error.getWordId() == null || error.getErrorCount() == null || error.getErrorCount() <= 0) {
+                continue;
+            }
+            ids[size] = error.getWordId();
+            values[size] = error.getErrorCount();
+            size++;
+        }
+        return sorted(ids, values, size);
+    }
+
+    /**
+     * 错误次数，没有记录时返回0
+     */
+    public int countOf(long wordId) {
+        int index = Arrays.binarySearch(wordIds, wordId);
+        return index >= 0 ? counts[index] : 0;
+    }
+
+    public int size() {
+        return wordIds.length;
+    }
+
+    /**
+     * 在当前档案基础上累加错误次数，返回新的档案
+     * @param ids 单词ID（可以重复，重复出现的次数会累加）
+     */
+    UserErrorProfile withIncrements(long[] ids) {
+        if (ids.length == 0) {
+            return this;
+        }
+        long[] added = ids.clone();
+        Arrays.sort(added);
+        long[] mergedIds = new long[wordIds.length + added.length];
+        int[] mergedCounts = new int[mergedIds.length];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < wordIds.length || j < added.length) {
+            long next;
+            if (j >= added.length || (i < wordIds.length && wordIds[i] <= added[j])) {
+                next = wordIds[i];
+            } else {
+                next = added[j];
+            }
+            int count = 0;
+            if (i < wordIds.length && wordIds[i] == next) {
+                count += counts[i++];
+            }
+            while (j < added.length && added[j] == next) {
+                count++;
+                j++;
+            }
+            mergedIds[size] = next;
+            mergedCounts[size] = count;
+            size++;
+        }
+        return new UserErrorProfile(Arrays.copyOf(mergedIds, size), Arrays.copyOf(mergedCounts, size));
+    }
+
+    private static UserErrorProfile sorted(long[] ids, int[] values, int size) {
+        sort(ids, values, 0, size - 1);
+        // 合并重复的单词ID（历史数据中可能存在重复行）
+        int unique = 0;
+        for (int i = 0; i < size; i++) {
+            if (unique > 0 && ids[unique - 1] == ids[i]) {
+                values[unique - 1] += values[i];
+            } else {
+                ids[unique] = ids[i];
+                values[unique] = values[i];
+                unique++;
+            }
+        }
+        return new UserErrorProfile(Arrays.copyOf(ids, unique), Arrays.copyOf(values, unique));
+    }
+
+    /**
+     * 按单词ID对两个平行数组做快速排序
+     */
+    private static void sort(long[] ids, int[] values, int low, int high) {
+        while (low < high) {
+            long pivot = ids[(low + high) >>> 1];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (ids[i] < pivot) {
+                    i++;
+                }
+                while (ids[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    long id = ids[i];
+                    ids[i] = ids[j];
+                    ids[j] = id;
+                    int value = values[i];
+                    values[i] = values[j];
+                    values[j] = value;
+                    i++;
+                    j--;
+                }
+            }
+            // 先递归较短的一侧，保证递归深度为 O(log n)
+            if (j - low < high - i) {
+                sort(ids, values, low, j);
+                low = i;
+            } else {
+                sort(ids, values, i, high);
+                high = j;
+            }
+        }
+    }
+}
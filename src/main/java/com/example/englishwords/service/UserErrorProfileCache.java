@@ -0,0 +1,144 @@
+package com.example.englishwords.service;
+
+import com.example.englishwords.repository.UserWordErrorRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 按用户ID缓存错题档案
+ * 容量有上限（LRU淘汰），并且每个档案在过期时间后重新从数据库加载；
+ * 考试提交写入数据库并提交事务后，由 ExamSubmissionWriter 增量更新，避免每次加权出题都查询数据库。
+ * 加载在锁外查询数据库：加载期间该用户的档案有更新时，查询结果可能已过时，不放入缓存。
+ */
+@Component
+public class UserErrorProfileCache {
+
+    @Autowired
+    private UserWordErrorRepository userWordErrorRepository;
+
+    private final int maxUsers;
+    private final long ttlMillis;
+    private final LinkedHashMap<Long, Entry> entries;
+    // 正在从数据库加载的用户，由 entries 的锁保护
+    private final Map<Long, Load> loads = new HashMap<>();
+
+    public UserErrorProfileCache(@Value("${exam.error-profile.cache.max-users:10000}") int maxUsers,
+                                 @Value("${exam.error-profile.cache.ttl-seconds:1800}") long ttlSeconds) {
+        this.maxUsers = maxUsers;
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.entries = new LinkedHashMap<Long, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > UserErrorProfileCache.this.maxUsers;
+            }
+        };
+    }
+
+    /**
+     * 获取用户的错题档案，未缓存或已过期时从数据库加载
+     */
+    public UserErrorProfile get(Long userId) {
+        if (userId == null) {
+            return UserErrorProfile.EMPTY;
+        }
+        long now = System.currentTimeMillis();
+        Load load;
+        synchronized (entries) {
+            Entry entry = entries.get(userId);
+            if (entry != null && now - entry.loadedAt < ttlMillis) {
+                return entry.profile;
+            }
+            load = loads.computeIfAbsent(userId, id -> new Load());
+            load.loaders++;
+        }
+        UserErrorProfile profile;
+        try {
+            profile = UserErrorProfile.of(userWordErrorRepository.findByUserIdOrderByErrorCountDesc(userId));
+        } catch (RuntimeException e) {
+            finishLoad(userId, load);
+            throw e;
+        }
+        synchronized (entries) {
+            finishLoad(userId, load);
+            Entry entry = entries.get(userId);
+            if (entry != null && now - entry.loadedAt < ttlMillis) {
+                // 加载期间其他线程已放入新的档案
+                return entry.profile;
+            }
+            if (!load.stale) {
+                entries.put(userId, new Entry(profile, now));
+            }
+        }
+        return profile;
+    }
+
+    /**
+     * 记录用户新答错的单词；只更新已缓存的档案，未缓存的下次读取时从数据库加载
+     */
+    public void recordErrors(Long userId, Collection<Long> wrongWordIds) {
+        if (userId == null || wrongWordIds.isEmpty()) {
+            return;
+        }
+        long[] ids = new long[wrongWordIds.size()];
+        int i = 0;
+        for (Long wordId : wrongWordIds) {
+            ids[i++] = wordId;
+        }
+        synchronized (entries) {
+            markStale(userId);
+            Entry entry = entries.get(userId);
+            if (entry != null) {
+                entries.put(userId, new Entry(entry.profile.withIncrements(ids), entry.loadedAt));
+            }
+        }
+    }
+
+    /**
+     * 丢弃用户的档案，下次读取时从数据库重新加载（写入失败、数据库中的错题次数不确定时调用）
+     */
+    public void invalidate(Long userId) {
+        synchronized (entries) {
+            markStale(userId);
+            entries.remove(userId);
+        }
+    }
+
+    private void finishLoad(Long userId, Load load) {
+        synchronized (entries) {
+            if (--load.loaders == 0) {
+                loads.remove(userId);
+            }
+        }
+    }
+
+    /**
+     * 正在进行的加载可能在这次更新之前查询了数据库，结果不能放入缓存
+     */
+    private void markStale(Long userId) {
+        Load load = loads.get(userId);
+        if (load != null) {
+            load.stale = true;
+        }
+    }
+
+    private static final class Load {
+        int loaders;
+        boolean stale;
+    }
+
+    private static final class Entry {
+        final UserErrorProfile profile;
+        final long loadedAt;
+
+        Entry(UserErrorProfile profile, long loadedAt) {
+            this.profile = profile;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.englishwords.service;
 
 import com.example.englishwords.entity.User;
 import com.example.englishwords.repository.UserRepository;
+import com.example.englishwords.util.KeysetPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -46,12 +47,8 @@ public class UserService {
     }
     
     public User updateUserScore(Long userId, int score) {
-        Optional<User> userOptional = userRepository.findById(userId);
-        if (userOptional.isPresent()) {
-            User user = userOptional.get();
-            user.setTotalScore(user.getTotalScore() + score);
-            user.setUpdatedAt(LocalDateTime.now());
-            return userRepository.save(user);
+        if (userRepository.addTotalScore(userId, score, LocalDateTime.now()) > 0) {
+            return userRepository.findById(userId).orElse(null);
         }
         return null;
     }
@@ -60,6 +57,18 @@ public class UserService {
         return userRepository.findAll();
     }
     
+    /**
+     * 按ID升序分页获取用户
+     * @param cursor 上一页返回的游标，第一页为null
+     * @param size 每页条数
+     * @throws IllegalArgumentException 游标无效
+     */
+    public KeysetPage<User> getUsersPage(String cursor, int size) {
+        long afterId = cursor == null || cursor.isEmpty() ? 0L : KeysetPage.decode(cursor).getId();
+        List<User> fetched = userRepository.findByIdGreaterThanOrderByIdAsc(afterId, KeysetPage.fetchRequest(size));
+        return KeysetPage.of(fetched, size, user -> KeysetPage.encode(user.getId()));
+    }
+    
     public boolean deleteUser(Long id) {
         if (userRepository.existsById(id)) {
             userRepository.deleteById(id);
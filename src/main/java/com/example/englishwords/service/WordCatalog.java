@@ -0,0 +1,315 @@
+package com.example.englishwords.service;
+
+import com.example.englishwords.entity.Word;
+import com.example.englishwords.repository.WordRepository;
+import com.example.englishwords.util.RandomSampler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 单词库的内存快照
+ * 按 (年级, 单元) 建立索引，读操作无锁，只读取当前快照；
+ * 写操作（新增/修改/删除）在事务提交后以写时复制的方式生成新快照并整体替换。
+ */
+@Component
+public class WordCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(WordCatalog.class);
+
+    private static final Comparator<Word> BY_ID = Comparator.comparing(Word::getId);
+
+    @Autowired
+    private WordRepository wordRepository;
+
+    @Autowired(required = false)
+    private List<WordCatalogListener> listeners = Collections.emptyList();
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+
+    /**
+     * 获取当前快照，首次访问时从数据库加载
+     */
+    public Snapshot snapshot() {
+        Snapshot snapshot = current.get();
+        if (snapshot == null) {
+            snapshot = loadIfAbsent();
+        }
+        return snapshot;
+    }
+
+    public List<Word> getWordsByGrade(Integer grade) {
+        return snapshot().byGrade(grade).asList();
+    }
+
+    public List<Word> getWordsByGradeAndUnit(Integer grade, Integer unit) {
+        return snapshot().byGradeAndUnit(grade, unit).asList();
+    }
+
+    public Optional<Word> getWordById(Long id) {
+        return Optional.ofNullable(snapshot().byId(id));
+    }
+
+    public long version() {
+        return snapshot().getVersion();
+    }
+
+    /**
+     * 丢弃当前快照并从数据库重新加载
+     */
+    public synchronized Snapshot reload() {
+        List<Word> words = wordRepository.findAll();
+        Snapshot snapshot = Snapshot.build(nextVersion(), copyAll(words));
+        current.set(snapshot);
+        for (WordCatalogListener listener : listeners) {
+            listener.onReload(snapshot.all().asList());
+        }
+        logger.info("单词库快照已加载, version: {}, 单词数: {}", snapshot.getVersion(), snapshot.size());
+        return snapshot;
+    }
+
+    /**
+     * 新增或修改单词后调用，事务提交后生效
+     */
+    public void put(Word word) {
+        putAll(Collections.singletonList(word));
+    }
+
+    public void putAll(Collection<Word> words) {
+        if (words.isEmpty()) {
+            return;
+        }
+        final List<Word> copies = copyAll(words);
+        afterCommit(() -> apply(copies, Collections.<Long>emptyList()));
+    }
+
+    /**
+     * 删除单词后调用，事务提交后生效
+     */
+    public void remove(Long id) {
+        final List<Long> ids = Collections.singletonList(id);
+        afterCommit(() -> apply(Collections.<Word>emptyList(), ids));
+    }
+
+    private synchronized Snapshot loadIfAbsent() {
+        Snapshot snapshot = current.get();
+        return snapshot != null ? snapshot : reload();
+    }
+
+    private synchronized void apply(List<Word> upserts, List<Long> removals) {
+        Snapshot base = current.get();
+        if (base == null) {
+            // 尚未加载过，下次读取时会直接从数据库加载到最新数据
+            return;
+        }
+        Map<Long, Word> byId = new LinkedHashMap<>(base.byId);
+        for (Long id : removals) {
+            byId.remove(id);
+        }
+        for (Word word : upserts) {
+            byId.put(word.getId(), word);
+        }
+        current.set(Snapshot.build(nextVersion(), new ArrayList<>(byId.values())));
+        for (WordCatalogListener listener : listeners) {
+            listener.onChange(upserts, removals);
+        }
+    }
+
+    private long nextVersion() {
+        Snapshot snapshot = current.get();
+        return snapshot == null ? 1L : snapshot.getVersion() + 1;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static List<Word> copyAll(Collection<Word> words) {
+        List<Word> copies = new ArrayList<>(words.size());
+        for (Word word : words) {
+            if (word.getId() != null) {
+                copies.add(copyOf(word));
+            }
+        }
+        return copies;
+    }
+
+    /**
+     * 快照中保存独立副本，调用方修改实体不会影响快照
+     */
+    private static Word copyOf(Word word) {
+        Word copy = new Word();
+        copy.setId(word.getId());
+        copy.setEnglish(word.getEnglish());
+        copy.setEnglishNorm(word.getEnglishNorm());
+        copy.setChinese(word.getChinese());
+        copy.setGrade(word.getGrade());
+        copy.setUnit(word.getUnit());
+        copy.setTeacherId(word.getTeacherId());
+        copy.setTeacherName(word.getTeacherName());
+        copy.setCreatedAt(word.getCreatedAt());
+        copy.setUpdatedAt(word.getUpdatedAt());
+        return copy;
+    }
+
+    private static long gradeUnitKey(int grade, int unit) {
+        return ((long) grade << 32) | (unit & 0xFFFFFFFFL);
+    }
+
+    /**
+     * 不可变快照
+     */
+    public static final class Snapshot {
+
+        private final long version;
+        private final Map<Long, Word> byId;
+        private final Partition all;
+        private final Map<Integer, Partition> grades;
+        private final Map<Long, Partition> gradeUnits;
+
+        private Snapshot(long version, Map<Long, Word> byId, Partition all,
+                         Map<Integer, Partition> grades, Map<Long, Partition> gradeUnits) {
+            this.version = version;
+            this.byId = byId;
+            this.all = all;
+            this.grades = grades;
+            this.gradeUnits = gradeUnits;
+        }
+
+        static Snapshot build(long version, List<Word> words) {
+            words.sort(BY_ID);
+            Map<Long, Word> byId = new HashMap<>(words.size() * 2);
+            Map<Integer, List<Word>> gradeLists = new HashMap<>();
+            Map<Long, List<Word>> gradeUnitLists = new HashMap<>();
+            for (Word word : words) {
+                byId.put(word.getId(), word);
+                if (word.getGrade() == null) {
+                    continue;
+                }
+                gradeLists.computeIfAbsent(word.getGrade(), k -> new ArrayList<>()).add(word);
+                if (word.getUnit() != null) {
+                    gradeUnitLists.computeIfAbsent(gradeUnitKey(word.getGrade(), word.getUnit()),
+                            k -> new ArrayList<>()).add(word);
+                }
+            }
+            Map<Integer, Partition> grades = new HashMap<>(gradeLists.size() * 2);
+            for (Map.Entry<Integer, List<Word>> entry : gradeLists.entrySet()) {
+                grades.put(entry.getKey(), new Partition(entry.getValue()));
+            }
+            Map<Long, Partition> gradeUnits = new HashMap<>(gradeUnitLists.size() * 2);
+            for (Map.Entry<Long, List<Word>> entry : gradeUnitLists.entrySet()) {
+                gradeUnits.put(entry.getKey(), new Partition(entry.getValue()));
+            }
+            return new Snapshot(version, byId, new Partition(words), grades, gradeUnits);
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public int size() {
+            return all.size();
+        }
+
+        public Word byId(Long id) {
+            return id == null ? null : byId.get(id);
+        }
+
+        public Partition all() {
+            return all;
+        }
+
+        public Partition byGrade(Integer grade) {
+            if (grade == null) {
+                return Partition.EMPTY;
+            }
+            Partition partition = grades.get(grade);
+            return partition != null ? partition : Partition.EMPTY;
+        }
+
+        public Partition byGradeAndUnit(Integer grade, Integer unit) {
+            if (grade == null || unit == null) {
+                return Partition.EMPTY;
+            }
+            Partition partition = gradeUnits.get(gradeUnitKey(grade, unit));
+            return partition != null ? partition : Partition.EMPTY;
+        }
+    }
+
+    /**
+     * 快照中的一个分区（全部 / 某年级 / 某年级某单元），按ID升序
+     */
+    public static final class Partition {
+
+        static final Partition EMPTY = new Partition(Collections.<Word>emptyList());
+
+        private final Word[] words;
+        private final long[] ids;
+        private final List<Word> view;
+
+        Partition(List<Word> source) {
+            this.words = source.toArray(new Word[0]);
+            this.ids = new long[words.length];
+            for (int i = 0; i < words.length; i++) {
+                ids[i] = words[i].getId();
+            }
+            this.view = Collections.unmodifiableList(Arrays.asList(words));
+        }
+
+        public int size() {
+            return words.length;
+        }
+
+        public Word get(int index) {
+            return words[index];
+        }
+
+        public long idAt(int index) {
+            return ids[index];
+        }
+
+        public List<Word> asList() {
+            return view;
+        }
+
+        /**
+         * 无放回随机抽取 count 个单词，分区不足 count 个时返回全部
+         */
+        public List<Word> sample(int count, Random random) {
+            if (words.length <= count) {
+                return view;
+            }
+            int[] picked = RandomSampler.sampleIndices(words.length, count, random);
+            List<Word> result = new ArrayList<>(picked.length);
+            for (int index : picked) {
+                result.add(words[index]);
+            }
+            return result;
+        }
+    }
+}
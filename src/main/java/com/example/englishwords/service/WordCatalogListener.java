@@ -0,0 +1,25 @@
+package com.example.englishwords.service;
+
+import com.example.englishwords.entity.Word;
+
+import java.util.Collection;
+
+/**
+ * 单词库快照变化的监听器
+ * 由 WordCatalog 在替换快照后按顺序回调（持有快照写锁，回调之间不会并发），
+ * 传入的单词是快照中的只读副本。用于维护基于单词库的派生索引。
+ */
+public interface WordCatalogListener {
+
+    /**
+     * 快照从数据库整体重新加载
+     */
+    void onReload(Collection<Word> words);
+
+    /**
+     * 快照增量变化
+     * @param upserts 新增或修改后的单词
+     * @param removedIds 被删除的单词ID
+     */
+    void onChange(Collection<Word> upserts, Collection<Long> removedIds);
+}
@@ -0,0 +1,148 @@
+package com.example.englishwords.service;
+
+import com.example.englishwords.entity.Word;
+import com.example.englishwords.util.WordNormalizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 单词库英文的查重索引
+ * 按规范形式（见 WordNormalizer.normalizeEnglish）计数，前面加一个布隆过滤器：
+ * 大多数查询的单词不在库中，布隆过滤器即可判定，不必再查哈希表。
+ * 通过 WordCatalogListener 随单词库快照增量更新；数据库中 english_norm 列的唯一约束兜底并发插入。
+ */
+@Component
+public class WordDuplicateIndex implements WordCatalogListener {
+
+    // 每个元素约10位、4个哈希函数，误判率约1%
+    private static final int BITS_PER_ENTRY = 10;
+    private static final int HASHES = 4;
+    private static final int MIN_CAPACITY = 1024;
+
+    // 规范形式 -> 单词数（历史数据中可能有重复）；重新加载时整体替换
+    private volatile Map<String, Integer> counts = new ConcurrentHashMap<>();
+    // 单词ID -> 规范形式，修改英文或删除单词时用来找到旧的规范形式；只在回调中访问
+    private final Map<Long, String> keyById = new HashMap<>();
+    private volatile BloomFilter bloom = new BloomFilter(MIN_CAPACITY);
+
+    @Override
+    public void onReload(Collection<Word> words) {
+        Map<String, Integer> rebuiltCounts = new ConcurrentHashMap<>();
+        BloomFilter rebuilt = new BloomFilter(Math.max(MIN_CAPACITY, words.size() * 2));
+        keyById.clear();
+        for (Word word : words) {
+            String key = WordNormalizer.normalizeEnglish(word.getEnglish());
+            keyById.put(word.getId(), key);
+            rebuiltCounts.merge(key, 1, Integer::sum);
+            rebuilt.add(key);
+        }
+        // 先替换布隆过滤器再替换计数，并发查询不会漏判
+        bloom = rebuilt;
+        counts = rebuiltCounts;
+    }
+
+    @Override
+    public void onChange(Collection<Word> upserts, Collection<Long> removedIds) {
+        for (Long id : removedIds) {
+            decrement(keyById.remove(id));
+        }
+        BloomFilter current = bloom;
+        for (Word word : upserts) {
+            String key = WordNormalizer.normalizeEnglish(word.getEnglish());
+            String previous = keyById.put(word.getId(), key);
+            if (key.equals(previous)) {
+                continue;
+            }
+            decrement(previous);
+            // 先加入布隆过滤器再计数，并发查询不会漏判
+            current.add(key);
+            counts.merge(key, 1, Integer::sum);
+        }
+        // 删除的单词仍留在布隆过滤器中，数量超出容量时按现有单词重建
+        if (keyById.size() > current.capacity || current.added > current.capacity * 2) {
+            BloomFilter rebuilt = new BloomFilter(Math.max(MIN_CAPACITY, keyById.size() * 2));
+            for (String key : counts.keySet()) {
+                rebuilt.add(key);
+            }
+            bloom = rebuilt;
+        }
+    }
+
+    /**
+     * 单词库中是否已有规范形式相同的英文
+     */
+    public boolean contains(String english) {
+        String key = WordNormalizer.normalizeEnglish(english);
+        return !key.isEmpty() && bloom.mightContain(key) && counts.containsKey(key);
+    }
+
+    public int size() {
+        return counts.size();
+    }
+
+    private void decrement(String key) {
+        if (key != null) {
+            counts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    /**
+     * 只增不减的布隆过滤器，位数组可被并发读取
+     */
+    private static final class BloomFilter {
+        final int capacity;
+        final int bits;
+        final AtomicLongArray words;
+        int added;
+
+        BloomFilter(int capacity) {
+            this.capacity = capacity;
+            this.bits = capacity * BITS_PER_ENTRY;
+            this.words = new AtomicLongArray((bits + 63) / 64);
+        }
+
+        void add(String key) {
+            int h1 = key.hashCode();
+            int h2 = mix(h1);
+            for (int i = 0; i < HASHES; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bits);
+                long mask = 1L << bit;
+                int index = bit >>> 6;
+                long value;
+                do {
+                    value = words.get(index);
+                } while ((value & mask) == 0 && !words.compareAndSet(index, value, value | mask));
+            }
+            added++;
+        }
+
+        boolean mightContain(String key) {
+            int h1 = key.hashCode();
+            int h2 = mix(h1);
+            for (int i = 0; i < HASHES; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bits);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 由第一个哈希值派生第二个哈希值（MurmurHash3 的 fmix32），保证为奇数
+         */
+        private static int mix(int h) {
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            h ^= h >>> 13;
+            h *= 0xc2b2ae35;
+            h ^= h >>> 16;
+            return h | 1;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.englishwords.service;
 
 import com.example.englishwords.entity.WordFeedback;
 import com.example.englishwords.repository.WordFeedbackRepository;
+import com.example.englishwords.util.KeysetPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -31,6 +32,23 @@ public class WordFeedbackService {
         return feedbackRepository.findAllByOrderByCreatedAtDesc();
     }
     
+    /**
+     * 分页获取所有反馈，按 (创建时间, ID) 倒序
+     * @param cursor 上一页返回的游标，第一页为null
+     * @param size 每页条数
+     * @throws IllegalArgumentException 游标无效
+     */
+    public KeysetPage<WordFeedback> getFeedbacksPage(String cursor, int size) {
+        List<WordFeedback> fetched;
+        if (cursor == null || cursor.isEmpty()) {
+            fetched = feedbackRepository.findAllByOrderByCreatedAtDescIdDesc(KeysetPage.fetchRequest(size));
+        } else {
+            KeysetPage.Cursor after = KeysetPage.decode(cursor);
+            fetched = feedbackRepository.findPageAfter(after.requireTime(), after.getId(), KeysetPage.fetchRequest(size));
+        }
+        return KeysetPage.of(fetched, size, feedback -> KeysetPage.encode(feedback.getCreatedAt(), feedback.getId()));
+    }
+    
     /**
      * 根据状态获取反馈
      */
@@ -0,0 +1,619 @@
+package com.example.englishwords.service;
+
+import com.example.englishwords.entity.Word;
+import com.example.englishwords.util.DelimitedRecordReader;
+import com.example.englishwords.util.WordNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 从 CSV/TSV 文件导入单词
+ * 上传的文件先落到临时文件，再由后台线程逐行读取、校验和规范化，跳过单词库和文件中已有的英文单词，
+ * 每满 chunk-size 个单词批量插入并提交一次。客户端轮询任务进度，结束后可下载逐行的错误文件。
+ * 列顺序为 英文,中文,年级,单元；首行是表头时按表头（english/chinese/grade/unit 或 英文/中文/年级/单元）识别列，
+ * 年级、单元列可省略，使用请求中给出的默认值。
+ */
+@Service
+public class WordImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WordImportService.class);
+
+    private static final String[] ERROR_FILE_HEADER = {"行号", "英文", "中文", "年级", "单元", "原因"};
+
+    @Autowired
+    private WordService wordService;
+
+    private final int chunkSize;
+    private final int maxJobs;
+    private final long ttlMillis;
+    private final ThreadPoolExecutor executor;
+    private final LinkedHashMap<String, ImportJob> jobs = new LinkedHashMap<>();
+
+    public WordImportService(@Value("${word-import.chunk-size:500}") int chunkSize,
+                             @Value("${word-import.queue-capacity:10}") int queueCapacity,
+                             @Value("${word-import.max-jobs:100}") int maxJobs,
+                             @Value("${word-import.ttl-minutes:60}") long ttlMinutes) {
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxJobs = maxJobs;
+        this.ttlMillis = ttlMinutes * 60 * 1000L;
+        // 导入主要是数据库写入，同一时间只执行一个导入任务
+        this.executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "word-import");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 提交导入任务
+     * @param file CSV 或 TSV 文件（UTF-8）
+     * @param defaultGrade 文件中没有年级列或年级为空时使用的年级，可为null
+     * @param defaultUnit 文件中没有单元列或单元为空时使用的单元，可为null
+     * @throws IOException 保存上传文件失败
+     * @throws RejectedExecutionException 导入任务过多
+     */
+    public ImportJob submit(MultipartFile file, Integer defaultGrade, Integer defaultUnit) throws IOException {
+        // 请求结束后上传的临时文件会被删除，先转存到自己的临时文件
+        Path upload = Files.createTempFile("word-import-", ".upload");
+        try {
+            file.transferTo(upload.toFile());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(upload);
+            throw e;
+        }
+        char delimiter = delimiterFor(file.getOriginalFilename(), upload);
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), file.getOriginalFilename(),
+                Files.size(upload), System.currentTimeMillis());
+        register(job);
+        try {
+            executor.execute(() -> run(job, upload, delimiter, defaultGrade, defaultUnit));
+        } catch (RejectedExecutionException e) {
+            remove(job.getId());
+            Files.deleteIfExists(upload);
+            logger.warn("单词导入任务队列已满, 拒绝任务, 排队数: {}", executor.getQueue().size());
+            throw e;
+        }
+        logger.info("单词导入任务已提交, jobId: {}, 文件: {}, 大小: {}", job.getId(), job.getFileName(), job.getTotalBytes());
+        return job;
+    }
+
+    /**
+     * 查询任务，不存在或已过期时返回null
+     */
+    public ImportJob getJob(String jobId) {
+        synchronized (jobs) {
+            purgeExpired(System.currentTimeMillis());
+            return jobs.get(jobId);
+        }
+    }
+
+    /**
+     * 任务状态的响应数据
+     */
+    public Map<String, Object> toMap(ImportJob job) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("jobId", job.getId());
+        data.put("fileName", job.getFileName());
+        data.put("status", job.getStatus().name());
+        data.put("progress", job.getProgress());
+        data.put("rowsRead", job.getRowsRead());
+        data.put("imported", job.getImported());
+        data.put("duplicates", job.getDuplicates());
+        data.put("failed", job.getFailed());
+        if (job.getMessage() != null) {
+            data.put("message", job.getMessage());
+        }
+        data.put("hasErrorFile", job.getStatus().isFinished() && job.getErrorFile() != null
+                && job.getDuplicates() + job.getFailed() > 0);
+        return data;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        synchronized (jobs) {
+            for (ImportJob job : jobs.values()) {
+                deleteErrorFile(job);
+            }
+            jobs.clear();
+        }
+    }
+
+    private void run(ImportJob job, Path upload, char delimiter, Integer defaultGrade, Integer defaultUnit) {
+        job.markRunning();
+        long start = System.currentTimeMillis();
+        try {
+            Path errorFile = Files.createTempFile("word-import-errors-", ".csv");
+            job.setErrorFile(errorFile);
+            try (CountingInputStream input = new CountingInputStream(Files.newInputStream(upload));
+                 DelimitedRecordReader reader = new DelimitedRecordReader(
+                         new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)), delimiter);
+                 Writer errors = Files.newBufferedWriter(errorFile, StandardCharsets.UTF_8)) {
+                // BOM 让 Excel 按 UTF-8 打开错误文件
+                errors.write('\uFEFF');
+                writeCsvLine(errors, ERROR_FILE_HEADER);
+                importRecords(job, reader, input, errors, defaultGrade, defaultUnit);
+            }
+            job.finish(ImportStatus.SUCCEEDED, "导入完成");
+            logger.info("单词导入完成, jobId: {}, 行数: {}, 导入: {}, 重复: {}, 失败: {}, 耗时: {}ms", job.getId(),
+                    job.getRowsRead(), job.getImported(), job.getDuplicates(), job.getFailed(),
+                    System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("单词导入失败, jobId: {}", job.getId(), e);
+            job.finish(ImportStatus.FAILED, "导入失败: " + e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(upload);
+            } catch (IOException e) {
+                logger.warn("删除导入临时文件失败: {}", upload);
+            }
+        }
+    }
+
+    private void importRecords(ImportJob job, DelimitedRecordReader reader, CountingInputStream input, Writer errors,
+                               Integer defaultGrade, Integer defaultUnit) throws IOException {
+        // 文件中已接受的英文单词（规范形式），去除文件内的重复；与单词库的重复由查重索引判断
+        Set<String> seen = new HashSet<>();
+
+        Columns columns = Columns.DEFAULT;
+        List<Word> chunk = new ArrayList<>(chunkSize);
+        List<Integer> chunkRows = new ArrayList<>(chunkSize);
+        boolean firstRecord = true;
+        while (true) {
+            List<String> record;
+            try {
+                record = reader.next();
+            } catch (DelimitedRecordReader.MalformedRecordException e) {
+                // 引号未闭合或记录过长：记为失败行，读取器已跳过这条记录
+                firstRecord = false;
+                job.rowRead(input.getCount());
+                job.rowFailed();
+                writeCsvLine(errors, String.valueOf(e.getLineNumber()), "", "", "", "", e.getReason());
+                continue;
+            }
+            if (record == null) {
+                break;
+            }
+            // 错误文件中的行号是记录开始的物理行号，引号内的换行也计入
+            int rowNumber = reader.getLineNumber();
+            if (isBlank(record)) {
+                continue;
+            }
+            if (firstRecord) {
+                firstRecord = false;
+                Columns header = Columns.fromHeader(record);
+                if (header != null) {
+                    columns = header;
+                    continue;
+                }
+            }
+            job.rowRead(input.getCount());
+
+            String english = normalizeEnglish(columns.get(record, columns.english));
+            String chinese = normalizeChinese(columns.get(record, columns.chinese));
+            String gradeText = columns.get(record, columns.grade).trim();
+            String unitText = columns.get(record, columns.unit).trim();
+            Integer grade;
+            Integer unit;
+            try {
+                grade = gradeText.isEmpty() ? defaultGrade : Integer.valueOf(gradeText);
+                unit = unitText.isEmpty() ? defaultUnit : Integer.valueOf(unitText);
+            } catch (NumberFormatException e) {
+                job.rowFailed();
+                writeCsvLine(errors, String.valueOf(rowNumber), english, chinese, gradeText, unitText, "年级或单元不是整数");
+                continue;
+            }
+
+            String key = WordNormalizer.normalizeEnglish(english);
+            if (!key.isEmpty() && (wordService.isDuplicateEnglish(english) || !seen.add(key))) {
+                job.rowDuplicate();
+                writeCsvLine(errors, String.valueOf(rowNumber), english, chinese, gradeText, unitText, "单词已存在");
+                continue;
+            }
+
+            Word word = new Word();
+            word.setEnglish(english);
+            word.setChinese(chinese);
+            word.setGrade(grade);
+            word.setUnit(unit);
+            chunk.add(word);
+            chunkRows.add(rowNumber);
+            if (chunk.size() >= chunkSize) {
+                commitChunk(job, chunk, chunkRows, seen, errors);
+            }
+        }
+        commitChunk(job, chunk, chunkRows, seen, errors);
+    }
+
+    /**
+     * 批量插入一批单词并提交，未保存的单词写入错误文件
+     */
+    private void commitChunk(ImportJob job, List<Word> chunk, List<Integer> chunkRows, Set<String> seen,
+                             Writer errors) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        WordService.BulkResult result = wordService.addWords(chunk);
+        for (WordService.Failure failure : result.getFailures()) {
+            Word word = chunk.get(failure.getIndex());
+            seen.remove(WordNormalizer.normalizeEnglish(word.getEnglish()));
+            writeCsvLine(errors, String.valueOf(chunkRows.get(failure.getIndex())), word.getEnglish(), word.getChinese(),
+                    word.getGrade() == null ? "" : String.valueOf(word.getGrade()),
+                    word.getUnit() == null ? "" : String.valueOf(word.getUnit()), failure.getReason());
+        }
+        errors.flush();
+        job.chunkCommitted(result.getSaved().size(), result.getFailures().size());
+        chunk.clear();
+        chunkRows.clear();
+    }
+
+    /**
+     * 按文件扩展名选择分隔符；扩展名不明确时，首行含制表符而不含逗号则按 TSV 处理
+     */
+    private static char delimiterFor(String fileName, Path file) throws IOException {
+        String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".tsv") || name.endsWith(".tab")) {
+            return '\t';
+        }
+        if (name.endsWith(".csv")) {
+            return ',';
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String firstLine = reader.readLine();
+            return firstLine != null && firstLine.indexOf('\t') >= 0 && firstLine.indexOf(',') < 0 ? '\t' : ',';
+        }
+    }
+
+    /**
+     * 英文：去掉首尾空白和行首的*号，连续空白合并为一个空格
+     */
+    private static String normalizeEnglish(String value) {
+        String trimmed = value.trim();
+        int start = 0;
+        while (start < trimmed.length() && trimmed.charAt(start) == '*') {
+            start++;
+        }
+        StringBuilder sb = new StringBuilder(trimmed.length() - start);
+        boolean pendingSpace = false;
+        for (int i = start; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (Character.isWhitespace(c) || c == '\u3000') {
+                pendingSpace = sb.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    sb.append(' ');
+                    pendingSpace = false;
+                }
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 中文：去掉首尾空白（包括全角空格）
+     */
+    private static String normalizeChinese(String value) {
+        int start = 0;
+        int end = value.length();
+        while (start < end && (Character.isWhitespace(value.charAt(start)) || value.charAt(start) == '\u3000')) {
+            start++;
+        }
+        while (end > start && (Character.isWhitespace(value.charAt(end - 1)) || value.charAt(end - 1) == '\u3000')) {
+            end--;
+        }
+        return value.substring(start, end);
+    }
+
+    private static boolean isBlank(List<String> record) {
+        for (String value : record) {
+            if (!value.trim().isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeCsvLine(Writer writer, String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String value = values[i] == null ? "" : values[i];
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private void register(ImportJob job) {
+        synchronized (jobs) {
+            purgeExpired(job.getCreatedAt());
+            jobs.put(job.getId(), job);
+            Iterator<ImportJob> iterator = jobs.values().iterator();
+            while (jobs.size() > maxJobs && iterator.hasNext()) {
+                deleteErrorFile(iterator.next());
+                iterator.remove();
+            }
+        }
+    }
+
+    private void remove(String jobId) {
+        synchronized (jobs) {
+            jobs.remove(jobId);
+        }
+    }
+
+    private void purgeExpired(long now) {
+        // 任务按创建时间顺序排列，遇到第一个未过期的即可停止
+        Iterator<ImportJob> iterator = jobs.values().iterator();
+        while (iterator.hasNext()) {
+            ImportJob job = iterator.next();
+            if (now - job.getCreatedAt() <= ttlMillis) {
+                break;
+            }
+            deleteErrorFile(job);
+            iterator.remove();
+        }
+    }
+
+    private static void deleteErrorFile(ImportJob job) {
+        Path errorFile = job.getErrorFile();
+        if (errorFile != null && job.getStatus().isFinished()) {
+            try {
+                Files.deleteIfExists(errorFile);
+            } catch (IOException e) {
+                logger.warn("删除导入错误文件失败: {}", errorFile);
+            }
+        }
+    }
+
+    /**
+     * 各字段所在的列，-1表示没有该列
+     */
+    private static final class Columns {
+        static final Columns DEFAULT = new Columns(0, 1, 2, 3);
+
+        private static final Map<String, String> HEADER_NAMES = new HashMap<>();
+
+        static {
+            HEADER_NAMES.put("english", "english");
+            HEADER_NAMES.put("word", "english");
+            HEADER_NAMES.put("英文", "english");
+            HEADER_NAMES.put("单词", "english");
+            HEADER_NAMES.put("chinese", "chinese");
+            HEADER_NAMES.put("meaning", "chinese");
+            HEADER_NAMES.put("中文", "chinese");
+            HEADER_NAMES.put("释义", "chinese");
+            HEADER_NAMES.put("grade", "grade");
+            HEADER_NAMES.put("年级", "grade");
+            HEADER_NAMES.put("unit", "unit");
+            HEADER_NAMES.put("单元", "unit");
+        }
+
+        final int english;
+        final int chinese;
+        final int grade;
+        final int unit;
+
+        Columns(int english, int chinese, int grade, int unit) {
+            this.english = english;
+            this.chinese = chinese;
+            this.grade = grade;
+            this.unit = unit;
+        }
+
+        /**
+         * 首行包含英文列和中文列的表头时返回对应的列，否则返回null（首行是数据）
+         */
+        static Columns fromHeader(List<String> record) {
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < record.size(); i++) {
+                String name = HEADER_NAMES.get(record.get(i).trim().toLowerCase(Locale.ROOT));
+                if (name != null && !positions.containsKey(name)) {
+                    positions.put(name, i);
+                }
+            }
+            if (!positions.containsKey("english") || !positions.containsKey("chinese")) {
+                return null;
+            }
+            return new Columns(positions.get("english"), positions.get("chinese"),
+                    positions.getOrDefault("grade", -1), positions.getOrDefault("unit", -1));
+        }
+
+        String get(List<String> record, int column) {
+            return column >= 0 && column < record.size() ? record.get(column) : "";
+        }
+    }
+
+    /**
+     * 统计已读取字节数，用于计算进度
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+
+    public enum ImportStatus {
+        QUEUED, RUNNING, SUCCEEDED, FAILED;
+
+        public boolean isFinished() {
+            return this == SUCCEEDED || this == FAILED;
+        }
+    }
+
+    /**
+     * 一个导入任务；计数只由执行任务的线程更新
+     */
+    public static final class ImportJob {
+        private final String id;
+        private final String fileName;
+        private final long totalBytes;
+        private final long createdAt;
+
+        private volatile ImportStatus status = ImportStatus.QUEUED;
+        private volatile String message;
+        private volatile Path errorFile;
+        private volatile long bytesRead;
+        private volatile int rowsRead;
+        private volatile int imported;
+        private volatile int duplicates;
+        private volatile int failed;
+
+        ImportJob(String id, String fileName, long totalBytes, long createdAt) {
+            this.id = id;
+            this.fileName = fileName;
+            this.totalBytes = totalBytes;
+            this.createdAt = createdAt;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public long getTotalBytes() {
+            return totalBytes;
+        }
+
+        public long getCreatedAt() {
+            return createdAt;
+        }
+
+        public ImportStatus getStatus() {
+            return status;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        /**
+         * 逐行错误文件（CSV），任务结束后可下载
+         */
+        public Path getErrorFile() {
+            return errorFile;
+        }
+
+        /**
+         * 按已读取的字节数估算的进度，0~100
+         */
+        public int getProgress() {
+            if (status.isFinished()) {
+                return 100;
+            }
+            return totalBytes <= 0 ? 0 : (int) Math.min(99, bytesRead * 100 / totalBytes);
+        }
+
+        public int getRowsRead() {
+            return rowsRead;
+        }
+
+        public int getImported() {
+            return imported;
+        }
+
+        public int getDuplicates() {
+            return duplicates;
+        }
+
+        public int getFailed() {
+            return failed;
+        }
+
+        void markRunning() {
+            status = ImportStatus.RUNNING;
+        }
+
+        void setErrorFile(Path errorFile) {
+            this.errorFile = errorFile;
+        }
+
+        void rowRead(long bytesRead) {
+            this.bytesRead = bytesRead;
+            rowsRead++;
+        }
+
+        void rowDuplicate() {
+            duplicates++;
+        }
+
+        void rowFailed() {
+            failed++;
+        }
+
+        void chunkCommitted(int saved, int rejected) {
+            imported += saved;
+            failed += rejected;
+        }
+
+        void finish(ImportStatus finalStatus, String finalMessage) {
+            message = finalMessage;
+            status = finalStatus;
+        }
+    }
+}
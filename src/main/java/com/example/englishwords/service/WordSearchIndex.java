@@ -0,0 +1,436 @@
+package com.example.englishwords.service;
+
+import com.example.englishwords.entity.Word;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 单词库的内存搜索索引
+ * 英文字段按 1~3 字符的 n-gram 建立倒排表，中文字段按 1~2 字符（CJK 二元组）建立倒排表。
+ * 查询时取关键词各 n-gram 倒排表的交集作为候选，再做一次子串校验，
+ * 因此查询耗时只与候选数相关，不随单词库规模线性增长。
+ * 结果按 完全匹配 > 前缀匹配 > 子串匹配 排序，同级按英文长度和ID排序，支持分页；
+ * 排序只针对前 offset+limit 名，不对全部匹配排序。
+ * 通过 WordCatalogListener 随单词库快照增量更新。
+ */
+@Component
+public class WordSearchIndex implements WordCatalogListener {
+
+    private static final int ENGLISH_GRAM = 3;
+    private static final int CHINESE_GRAM = 2;
+
+    private static final int RANK_EXACT = 0;
+    private static final int RANK_PREFIX = 1;
+    private static final int RANK_CONTAINS = 2;
+    private static final int RANK_NONE = Integer.MAX_VALUE;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final Map<String, Postings> englishGrams = new HashMap<>();
+    private final Map<String, Postings> chineseGrams = new HashMap<>();
+    private Word[] docs = new Word[16];
+    private String[] englishKeys = new String[16];
+    private String[] chineseKeys = new String[16];
+    private int nextSlot;
+
+    @Override
+    public void onReload(Collection<Word> words) {
+        lock.writeLock().lock();
+        try {
+            rebuild(words);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onChange(Collection<Word> upserts, Collection<Long> removedIds) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : removedIds) {
+                removeDoc(id);
+            }
+            for (Word word : upserts) {
+                removeDoc(word.getId());
+                addDoc(word);
+            }
+            // 删除留下的空槽过多时压缩
+            if (nextSlot > 64 && slotById.size() < nextSlot / 2) {
+                List<Word> live = new ArrayList<>(slotById.size());
+                for (int slot = 0; slot < nextSlot; slot++) {
+                    if (docs[slot] != null) {
+                        live.add(docs[slot]);
+                    }
+                }
+                rebuild(live);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 按英文或中文搜索单词（忽略大小写）
+     * 两个字段的候选都按槽位升序，合并一遍即可得到总数；只有可能排进前 offset+limit 名的结果进入有界堆，
+     * 最后只对这部分结果排序，不为每个候选装箱，也不对全部匹配排序。
+     * @param keyword 关键词
+     * @param offset 跳过的结果数
+     * @param limit 最多返回的结果数
+     */
+    public Page search(String keyword, int offset, int limit) {
+        if (keyword == null || keyword.trim().isEmpty() || limit <= 0) {
+            return new Page(Collections.<Word>emptyList(), 0);
+        }
+        String query = keyword.trim().toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            Candidates english = candidates(query, englishGrams, ENGLISH_GRAM);
+            Candidates chinese = candidates(query, chineseGrams, CHINESE_GRAM);
+
+            int from = Math.max(0, offset);
+            int keep = (int) Math.min((long) from + limit, (long) english.size + chinese.size);
+            TopRanked top = new TopRanked(keep);
+            int total = 0;
+            int i = 0;
+            int j = 0;
+            while (i < english.size || j < chinese.size) {
+                int e = i < english.size ? english.slots[i] : Integer.MAX_VALUE;
+                int c = j < chinese.size ? chinese.slots[j] : Integer.MAX_VALUE;
+                int slot = Math.min(e, c);
+                int rank = RANK_NONE;
+                if (e == slot) {
+                    rank = rank(englishKeys[slot], query, english.verified);
+                    i++;
+                }
+                if (c == slot) {
+                    // 英文已完全匹配时不必再看中文
+                    if (rank != RANK_EXACT) {
+                        rank = Math.min(rank, rank(chineseKeys[slot], query, chinese.verified));
+                    }
+                    j++;
+                }
+                if (rank == RANK_NONE) {
+                    continue;
+                }
+                total++;
+                top.offer(slot, rank);
+            }
+
+            int[] ordered = top.sorted();
+            int to = Math.min(ordered.length, (int) Math.min((long) from + limit, Integer.MAX_VALUE));
+            List<Word> words = new ArrayList<>(Math.max(0, to - from));
+            for (int k = from; k < to; k++) {
+                words.add(docs[ordered[k]]);
+            }
+            return new Page(words, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param verified 候选已确定包含 query（关键词本身就是被索引的 gram），不必再做子串校验
+     */
+    private static int rank(String key, String query, boolean verified) {
+        if (key.equals(query)) {
+            return RANK_EXACT;
+        }
+        if (key.startsWith(query)) {
+            return RANK_PREFIX;
+        }
+        return verified || key.contains(query) ? RANK_CONTAINS : RANK_NONE;
+    }
+
+    /**
+     * 取关键词所有 n-gram 倒排表的交集；关键词短于 n 时其本身就是一个被索引的 gram，直接使用其倒排表
+     */
+    private static Candidates candidates(String query, Map<String, Postings> grams, int gramSize) {
+        if (query.length() <= gramSize) {
+            Postings postings = grams.get(query);
+            return postings == null ? Candidates.NONE : new Candidates(postings.slots, postings.size, true);
+        }
+        List<Postings> lists = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i + gramSize <= query.length(); i++) {
+            String gram = query.substring(i, i + gramSize);
+            if (!seen.add(gram)) {
+                continue;
+            }
+            Postings postings = grams.get(gram);
+            if (postings == null) {
+                return Candidates.NONE;
+            }
+            lists.add(postings);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+        int[] result = lists.get(0).toArray();
+        int size = result.length;
+        for (int i = 1; i < lists.size() && size > 0; i++) {
+            size = lists.get(i).retainAll(result, size);
+        }
+        return new Candidates(result, size, false);
+    }
+
+    private void rebuild(Collection<Word> words) {
+        slotById.clear();
+        englishGrams.clear();
+        chineseGrams.clear();
+        int capacity = Math.max(16, words.size() + words.size() / 4);
+        docs = new Word[capacity];
+        englishKeys = new String[capacity];
+        chineseKeys = new String[capacity];
+        nextSlot = 0;
+        for (Word word : words) {
+            addDoc(word);
+        }
+    }
+
+    private void addDoc(Word word) {
+        if (nextSlot == docs.length) {
+            int capacity = docs.length * 2;
+            docs = Arrays.copyOf(docs, capacity);
+            englishKeys = Arrays.copyOf(englishKeys, capacity);
+            chineseKeys = Arrays.copyOf(chineseKeys, capacity);
+        }
+        int slot = nextSlot++;
+        String english = normalize(word.getEnglish());
+        String chinese = normalize(word.getChinese());
+        docs[slot] = word;
+        englishKeys[slot] = english;
+        chineseKeys[slot] = chinese;
+        slotById.put(word.getId(), slot);
+        index(englishGrams, english, ENGLISH_GRAM, slot, true);
+        index(chineseGrams, chinese, CHINESE_GRAM, slot, true);
+    }
+
+    private void removeDoc(Long id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        index(englishGrams, englishKeys[slot], ENGLISH_GRAM, slot, false);
+        index(chineseGrams, chineseKeys[slot], CHINESE_GRAM, slot, false);
+        docs[slot] = null;
+        englishKeys[slot] = null;
+        chineseKeys[slot] = null;
+    }
+
+    private static void index(Map<String, Postings> grams, String text, int gramSize, int slot, boolean add) {
+        Set<String> distinct = new HashSet<>();
+        for (int length = 1; length <= gramSize; length++) {
+            for (int i = 0; i + length <= text.length(); i++) {
+                distinct.add(text.substring(i, i + length));
+            }
+        }
+        for (String gram : distinct) {
+            if (add) {
+                grams.computeIfAbsent(gram, k -> new Postings()).add(slot);
+            } else {
+                Postings postings = grams.get(gram);
+                if (postings != null && postings.remove(slot) && postings.size == 0) {
+                    grams.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 按槽位升序排列的倒排表；新文档的槽位总是递增，追加即保持有序
+     */
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        boolean remove(int slot) {
+            int index = Arrays.binarySearch(slots, 0, size, slot);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(slots, index + 1, slots, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(slots, size);
+        }
+
+        /**
+         * 将 target[0, targetSize) 与本倒排表求交集，结果写回 target，返回交集大小
+         */
+        int retainAll(int[] target, int targetSize) {
+            int i = 0;
+            int j = 0;
+            int kept = 0;
+            while (i < targetSize && j < size) {
+                if (target[i] < slots[j]) {
+                    i++;
+                } else if (target[i] > slots[j]) {
+                    j++;
+                } else {
+                    target[kept++] = target[i];
+                    i++;
+                    j++;
+                }
+            }
+            return kept;
+        }
+    }
+
+    /**
+     * 一个字段的候选槽位 slots[0, size)，按槽位升序；只在持有读锁期间使用
+     */
+    private static final class Candidates {
+        static final Candidates NONE = new Candidates(new int[0], 0, true);
+
+        final int[] slots;
+        final int size;
+        final boolean verified;
+
+        Candidates(int[] slots, int size, boolean verified) {
+            this.slots = slots;
+            this.size = size;
+            this.verified = verified;
+        }
+    }
+
+    /**
+     * 保留排序最靠前的 capacity 个结果：堆顶是其中排序最靠后的一个，
+     * 比它靠后的候选直接丢弃，因此等级更低的候选在堆满后不会引起堆调整
+     */
+    private final class TopRanked {
+        private final int[] slots;
+        private final int[] ranks;
+        private int size;
+
+        TopRanked(int capacity) {
+            slots = new int[capacity];
+            ranks = new int[capacity];
+        }
+
+        void offer(int slot, int rank) {
+            if (size < slots.length) {
+                slots[size] = slot;
+                ranks[size] = rank;
+                siftUp(size++);
+            } else if (size > 0 && rank <= ranks[0] && compare(slot, rank, slots[0], ranks[0]) < 0) {
+                slots[0] = slot;
+                ranks[0] = rank;
+                siftDown(0, size);
+            }
+        }
+
+        /**
+         * 按排序从前到后返回保留的槽位，调用后堆不再可用
+         */
+        int[] sorted() {
+            int[] result = new int[size];
+            for (int last = size - 1; last >= 0; last--) {
+                result[last] = slots[0];
+                slots[0] = slots[last];
+                ranks[0] = ranks[last];
+                siftDown(0, last);
+            }
+            return result;
+        }
+
+        /**
+         * 按 匹配等级、英文长度、ID 比较
+         */
+        private int compare(int slotA, int rankA, int slotB, int rankB) {
+            int cmp = Integer.compare(rankA, rankB);
+            if (cmp != 0) {
+                return cmp;
+            }
+            cmp = Integer.compare(englishKeys[slotA].length(), englishKeys[slotB].length());
+            if (cmp != 0) {
+                return cmp;
+            }
+            return Long.compare(docs[slotA].getId(), docs[slotB].getId());
+        }
+
+        private void siftUp(int pos) {
+            int slot = slots[pos];
+            int rank = ranks[pos];
+            while (pos > 0) {
+                int parent = (pos - 1) >>> 1;
+                if (compare(slots[parent], ranks[parent], slot, rank) >= 0) {
+                    break;
+                }
+                slots[pos] = slots[parent];
+                ranks[pos] = ranks[parent];
+                pos = parent;
+            }
+            slots[pos] = slot;
+            ranks[pos] = rank;
+        }
+
+        private void siftDown(int pos, int heapSize) {
+            if (heapSize == 0) {
+                return;
+            }
+            int slot = slots[pos];
+            int rank = ranks[pos];
+            int half = heapSize >>> 1;
+            while (pos < half) {
+                int child = 2 * pos + 1;
+                int right = child + 1;
+                if (right < heapSize && compare(slots[right], ranks[right], slots[child], ranks[child]) > 0) {
+                    child = right;
+                }
+                if (compare(slot, rank, slots[child], ranks[child]) >= 0) {
+                    break;
+                }
+                slots[pos] = slots[child];
+                ranks[pos] = ranks[child];
+                pos = child;
+            }
+            slots[pos] = slot;
+            ranks[pos] = rank;
+        }
+    }
+
+    /**
+     * 一页搜索结果
+     */
+    public static final class Page {
+        private final List<Word> words;
+        private final int total;
+
+        Page(List<Word> words, int total) {
+            this.words = words;
+            this.total = total;
+        }
+
+        public List<Word> getWords() {
+            return words;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+    }
+}
@@ -2,16 +2,22 @@ package com.example.englishwords.service;
 
 import com.example.englishwords.entity.Word;
 import com.example.englishwords.repository.WordRepository;
-import com.example.englishwords.repository.UserWordErrorRepository;
+import com.example.englishwords.util.KeysetPage;
+import com.example.englishwords.util.WeightedRandomSampler;
+import com.example.englishwords.util.WordNormalizer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 public class WordService {
@@ -22,108 +28,242 @@ public class WordService {
     private WordRepository wordRepository;
     
     @Autowired
-    private UserWordErrorRepository userWordErrorRepository;
+    private UserErrorProfileCache errorProfileCache;
+    
+    @Autowired
+    private WordCatalog wordCatalog;
+    
+    @Autowired
+    private ErrorWeightPolicy errorWeightPolicy;
+    
+    @Autowired
+    private WordSearchIndex wordSearchIndex;
+    
+    @Autowired
+    private WordTextParser wordTextParser;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private WordDuplicateIndex wordDuplicateIndex;
     
     public List<Word> getAllWords() {
         return wordRepository.findAll();
     }
     
+    /**
+     * 按ID升序分页获取单词
+     * @param cursor 上一页返回的游标，第一页为null
+     * @param size 每页条数
+     * @throws IllegalArgumentException 游标无效
+     */
+    public KeysetPage<Word> getWordsPage(String cursor, int size) {
+        long afterId = cursor == null || cursor.isEmpty() ? 0L : KeysetPage.decode(cursor).getId();
+        List<Word> fetched = wordRepository.findByIdGreaterThanOrderByIdAsc(afterId, KeysetPage.fetchRequest(size));
+        return KeysetPage.of(fetched, size, word -> KeysetPage.encode(word.getId()));
+    }
+    
     public Optional<Word> getWordById(Long id) {
         return wordRepository.findById(id);
     }
     
+    /**
+     * @throws IllegalStateException 单词库中已有规范形式相同的英文
+     */
     public Word saveWord(Word word) {
+        checkNotDuplicate(word.getEnglish(), word.getId());
         word.setCreatedAt(LocalDateTime.now());
         word.setUpdatedAt(LocalDateTime.now());
-        return wordRepository.save(word);
+        Word saved = wordRepository.save(word);
+        wordCatalog.put(saved);
+        return saved;
     }
     
+    /**
+     * @return 修改后的单词，单词不存在时返回null
+     * @throws IllegalStateException 修改后的英文与单词库中的其他单词重复
+     */
     public Word updateWord(Long id, Word wordDetails) {
         Optional<Word> wordOptional = wordRepository.findById(id);
         if (wordOptional.isPresent()) {
+            checkNotDuplicate(wordDetails.getEnglish(), id);
             Word word = wordOptional.get();
             word.setEnglish(wordDetails.getEnglish());
             word.setChinese(wordDetails.getChinese());
             word.setGrade(wordDetails.getGrade());
             word.setUnit(wordDetails.getUnit());
             word.setUpdatedAt(LocalDateTime.now());
-            return wordRepository.save(word);
+            Word saved = wordRepository.save(word);
+            wordCatalog.put(saved);
+            return saved;
         }
         return null;
     }
     
+    /**
+     * @throws IllegalStateException 单词库中已有规范形式相同的英文
+     */
     public Word addWord(Word word) {
+        checkNotDuplicate(word.getEnglish(), word.getId());
         word.setCreatedAt(LocalDateTime.now());
         word.setUpdatedAt(LocalDateTime.now());
-        return wordRepository.save(word);
+        Word saved = wordRepository.save(word);
+        wordCatalog.put(saved);
+        return saved;
+    }
+    
+    /**
+     * 批量添加单词：先逐条校验，有效的单词在一个事务中批量插入（ID按块分配，INSERT按批发送）
+     * 无效的单词以及与单词库或本批前面的单词重复的单词记入失败列表，不影响其他单词；整批插入失败时改为逐条插入，只有插入失败的单词记为失败。
+     * @param words 单词列表
+     * @return 保存成功的单词和失败的单词（下标对应传入的列表）
+     */
+    public BulkResult addWords(List<Word> words) {
+        List<Word> valid = new ArrayList<>(words.size());
+        List<Integer> validIndexes = new ArrayList<>(words.size());
+        List<Failure> failures = new ArrayList<>();
+        Set<String> batchKeys = new HashSet<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < words.size(); i++) {
+            Word word = words.get(i);
+            String reason = validate(word);
+            if (reason == null && (isDuplicateEnglish(word.getEnglish())
+                    || !batchKeys.add(WordNormalizer.normalizeEnglish(word.getEnglish())))) {
+                reason = "单词已存在";
+            }
+            if (reason != null) {
+                failures.add(new Failure(i, word, reason));
+                continue;
+            }
+            word.setId(null);
+            word.setCreatedAt(now);
+            word.setUpdatedAt(now);
+            valid.add(word);
+            validIndexes.add(i);
+        }
+        if (valid.isEmpty()) {
+            return new BulkResult(Collections.<Word>emptyList(), failures);
+        }
+        
+        List<Word> saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                List<Word> result = wordRepository.saveAll(valid);
+                wordCatalog.putAll(result);
+                return result;
+            });
+        } catch (RuntimeException e) {
+            // 整批回滚后逐条重试，避免一条坏数据拖累整批
+            logger.warn("批量插入单词失败，改为逐条插入, 单词数: {}, 原因: {}", valid.size(), e.getMessage());
+            saved = new ArrayList<>(valid.size());
+            for (int i = 0; i < valid.size(); i++) {
+                Word word = valid.get(i);
+                // 回滚的事务可能已给单词分配了ID，重试时按新单词插入
+                word.setId(null);
+                try {
+                    saved.add(transactionTemplate.execute(status -> {
+                        Word result = wordRepository.save(word);
+                        wordCatalog.put(result);
+                        return result;
+                    }));
+                } catch (RuntimeException rowError) {
+                    failures.add(new Failure(validIndexes.get(i), word, "保存失败: " + rowError.getMessage()));
+                }
+            }
+            failures.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        }
+        logger.debug("批量添加单词完成, 提交数: {}, 成功数: {}, 失败数: {}", words.size(), saved.size(), failures.size());
+        return new BulkResult(saved, failures);
+    }
+    
+    /**
+     * 校验待添加的单词
+     * @return 无效原因，有效时返回null
+     */
+    private String validate(Word word) {
+        if (word == null) {
+            return "单词为空";
+        }
+        if (word.getGrade() == null || word.getUnit() == null) {
+            return "缺少年级或单元";
+        }
+        if (!wordTextParser.isValidWord(word)) {
+            return "英文或中文为空或长度无效";
+        }
+        return null;
+    }
+    
+    /**
+     * 单词库中是否已有规范形式相同的英文（忽略大小写、多余空白和括号中的说明）
+     */
+    public boolean isDuplicateEnglish(String english) {
+        // 确保单词库快照已加载，查重索引随快照一起建立
+        wordCatalog.snapshot();
+        return wordDuplicateIndex.contains(english);
+    }
+    
+    /**
+     * 保存单个单词前查重，english_norm 的唯一约束只兜底并发插入
+     * @param id 修改的单词ID，新增时为null；英文的规范形式没有变化时不算重复
+     * @throws IllegalStateException 单词库中已有规范形式相同的英文
+     */
+    private void checkNotDuplicate(String english, Long id) {
+        // 与快照中的副本比较：调用方可能已经修改了同一个受管实体
+        Word current = id == null ? null : wordCatalog.snapshot().byId(id);
+        if (current != null && WordNormalizer.normalizeEnglish(current.getEnglish())
+                .equals(WordNormalizer.normalizeEnglish(english))) {
+            return;
+        }
+        if (isDuplicateEnglish(english)) {
+            throw new IllegalStateException("单词已存在: " + english);
+        }
     }
     
     public boolean deleteWord(Long id) {
         if (wordRepository.existsById(id)) {
             wordRepository.deleteById(id);
+            wordCatalog.remove(id);
             return true;
         }
         return false;
     }
     
     public List<Word> searchWords(String keyword) {
-        List<Word> englishMatches = wordRepository.findByEnglishContainingIgnoreCase(keyword);
-        List<Word> chineseMatches = wordRepository.findByChineseContainingIgnoreCase(keyword);
-        
-        // 合并结果并去重
-        chineseMatches.addAll(englishMatches);
-        return chineseMatches.stream().distinct().collect(java.util.stream.Collectors.toList());
+        return searchWords(keyword, 0, Integer.MAX_VALUE).getWords();
+    }
+    
+    /**
+     * 分页搜索单词（英文或中文，忽略大小写），按匹配程度排序
+     */
+    public WordSearchIndex.Page searchWords(String keyword, int offset, int limit) {
+        // 确保单词库快照已加载，搜索索引随快照一起建立
+        wordCatalog.snapshot();
+        return wordSearchIndex.search(keyword, offset, limit);
     }
     
     public List<Word> getRandomWords(int count) {
-        List<Word> allWords = wordRepository.findAll();
-        if (allWords.size() <= count) {
-            return allWords;
-        }
-        
-        // 随机选择count个单词
-        Collections.shuffle(allWords);
-        return allWords.stream()
-                .limit(count)
-                .collect(java.util.stream.Collectors.toList());
+        return wordCatalog.snapshot().all().sample(count, ThreadLocalRandom.current());
     }
     
     // 按年级获取单词
     public List<Word> getWordsByGrade(Integer grade) {
-        return wordRepository.findByGrade(grade);
+        return wordCatalog.getWordsByGrade(grade);
     }
     
     // 按年级和单元获取单词
     public List<Word> getWordsByGradeAndUnit(Integer grade, Integer unit) {
-        return wordRepository.findByGradeAndUnit(grade, unit);
+        return wordCatalog.getWordsByGradeAndUnit(grade, unit);
     }
     
     // 按年级随机获取单词
     public List<Word> getRandomWordsByGrade(Integer grade, int count) {
-        List<Word> words = wordRepository.findByGrade(grade);
-        if (words.size() <= count) {
-            return words;
-        }
-        
-        // 随机选择count个单词
-        Collections.shuffle(words);
-        return words.stream()
-                .limit(count)
-                .collect(java.util.stream.Collectors.toList());
+        return wordCatalog.snapshot().byGrade(grade).sample(count, ThreadLocalRandom.current());
     }
     
     // 按年级和单元随机获取单词
     public List<Word> getRandomWordsByGradeAndUnit(Integer grade, Integer unit, int count) {
-        List<Word> words = wordRepository.findByGradeAndUnit(grade, unit);
-        if (words.size() <= count) {
-            return words;
-        }
-        
-        // 随机选择count个单词
-        Collections.shuffle(words);
-        return words.stream()
-                .limit(count)
-                .collect(java.util.stream.Collectors.toList());
+        return wordCatalog.snapshot().byGradeAndUnit(grade, unit).sample(count, ThreadLocalRandom.current());
     }
     
     /**
@@ -137,70 +277,91 @@ public class WordService {
      * @return 加权后的单词列表
      */
     public List<Word> getWeightedRandomWordsByGrade(Long userId, Integer grade, Integer unit, int count) {
-        logger.info("=== 开始生成加权考试题目 ===");
-        logger.info("userId: {}, grade: {}, unit: {}, count: {}", userId, grade, unit, count);
-        
         // 1. 获取该年级（或年级+单元）的所有单词
-        List<Word> allWords;
+        WordCatalog.Partition partition;
         if (unit == null || unit == 0) {
-            allWords = wordRepository.findByGrade(grade);
-            logger.info("按年级查询单词数: {}", allWords.size());
+            partition = wordCatalog.snapshot().byGrade(grade);
         } else {
-            allWords = wordRepository.findByGradeAndUnit(grade, unit);
-            logger.info("按年级和单元查询单词数: {}", allWords.size());
+            partition = wordCatalog.snapshot().byGradeAndUnit(grade, unit);
         }
         
-        if (allWords.isEmpty()) {
-            logger.warn("未找到该年级的单词");
+        if (partition.size() == 0) {
+            logger.warn("未找到该年级的单词, grade: {}, unit: {}", grade, unit);
             return new ArrayList<>();
         }
         
-        // 2. 获取该用户的错题记录，按错误次数降序排列
-        java.util.List<com.example.englishwords.entity.UserWordError> userErrors = 
-            userWordErrorRepository.findByUserIdOrderByErrorCountDesc(userId);
-        logger.info("用户错题记录数: {}", userErrors.size());
+        // 2. 获取该用户的错题档案（缓存）
+        UserErrorProfile errorProfile = errorProfileCache.get(userId);
         
-        // 3. 创建错词ID到错误次数的映射
-        java.util.Map<Long, Integer> errorCountMap = new java.util.HashMap<>();
-        for (com.example.englishwords.entity.UserWordError error : userErrors) {
-            errorCountMap.put(error.getWordId(), error.getErrorCount());
+        // 3. 按错题权重策略计算每个单词的权重，错误次数越多权重越高
+        double[] weights = new double[partition.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = errorWeightPolicy.weight(errorProfile.countOf(partition.idAt(i)));
         }
         
-        // 4. 构建加权列表：错题重复出现，正确题出现一次
-        List<Word> weightedWords = new ArrayList<>();
+        // 4. 加权无放回抽样，不会出现重复单词
+        int[] picked = WeightedRandomSampler.sampleIndices(weights, count, ThreadLocalRandom.current());
+        List<Word> result = new ArrayList<>(picked.length);
+        for (int index : picked) {
+            result.add(partition.get(index));
+        }
         
-        // 先加入所有错题（按错误次数重复）
-        for (Word word : allWords) {
-            Integer errorCount = errorCountMap.get(word.getId());
-            if (errorCount != null && errorCount > 0) {
-                // 错题权重：基础1次 + 错误次数的一半
-                // 例如：错1次出现2次，错2次出现3次，错3次出现4次
-                int weight = 1 + (errorCount / 2);
-                for (int i = 0; i < weight; i++) {
-                    weightedWords.add(word);
-                }
-            } else {
-                // 未出错的题只出现一次
-                weightedWords.add(word);
-            }
+        logger.debug("加权出题完成, userId: {}, grade: {}, unit: {}, 候选数: {}, 错题数: {}, 返回数: {}",
+                userId, grade, unit, partition.size(), errorProfile.size(), result.size());
+        return result;
+    }
+    
+    /**
+     * 批量添加单词的结果
+     */
+    public static final class BulkResult {
+        private final List<Word> saved;
+        private final List<Failure> failures;
+        
+        BulkResult(List<Word> saved, List<Failure> failures) {
+            this.saved = saved;
+            this.failures = failures;
+        }
+        
+        public List<Word> getSaved() {
+            return saved;
+        }
+        
+        public List<Failure> getFailures() {
+            return failures;
         }
+    }
+    
+    /**
+     * 未能保存的单词及原因
+     */
+    public static final class Failure {
+        private final int index;
+        private final String english;
+        private final String chinese;
+        private final String reason;
         
-        logger.info("加权后单词列表大小: {}", weightedWords.size());
+        Failure(int index, Word word, String reason) {
+            this.index = index;
+            this.english = word == null ? null : word.getEnglish();
+            this.chinese = word == null ? null : word.getChinese();
+            this.reason = reason;
+        }
         
-        // 5. 打乱顺序后取前count个单词
-        Collections.shuffle(weightedWords);
+        public int getIndex() {
+            return index;
+        }
         
-        List<Word> result;
-        if (weightedWords.size() <= count) {
-            result = weightedWords;
-        } else {
-            result = weightedWords.stream()
-                    .limit(count)
-                    .collect(java.util.stream.Collectors.toList());
+        public String getEnglish() {
+            return english;
         }
         
-        logger.info("最终返回单词数: {}", result.size());
-        logger.info("=== 加权考试题目生成完成 ===");
-        return result;
+        public String getChinese() {
+            return chinese;
+        }
+        
+        public String getReason() {
+            return reason;
+        }
     }
 }
\ No newline at end of file
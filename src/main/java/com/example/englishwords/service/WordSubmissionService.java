@@ -4,13 +4,17 @@ import com.example.englishwords.entity.Word;
 import com.example.englishwords.entity.WordSubmission;
 import com.example.englishwords.repository.WordRepository;
 import com.example.englishwords.repository.WordSubmissionRepository;
+import com.example.englishwords.util.KeysetPage;
+import com.example.englishwords.util.WordNormalizer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class WordSubmissionService {
@@ -21,14 +25,20 @@ public class WordSubmissionService {
     @Autowired
     private WordRepository wordRepository;
     
+    @Autowired
+    private WordCatalog wordCatalog;
+    
+    @Autowired
+    private WordService wordService;
+    
     /**
-     * 验证提交的单词是否已存在（根据英文单词回源）
+     * 验证提交的单词是否已存在（按英文的规范形式查重，忽略大小写、多余空白和括号中的说明）
      */
     public java.util.List<String> validateWordSubmission(WordSubmission submission) {
         java.util.List<String> duplicateWords = new java.util.ArrayList<>();
         
-        // 检查单词是否存在于word表中
-        if (wordRepository.existsByEnglish(submission.getEnglish())) {
+        // 检查单词是否存在于单词库中
+        if (wordService.isDuplicateEnglish(submission.getEnglish())) {
             duplicateWords.add(submission.getEnglish());
         }
         
@@ -51,6 +61,25 @@ public class WordSubmissionService {
         return submissionRepository.findByStatusOrderBySubmittedAtAsc("PENDING");
     }
     
+    /**
+     * 分页获取待审批的单词，按 (提交时间, ID) 升序
+     * @param cursor 上一页返回的游标，第一页为null
+     * @param size 每页条数
+     * @throws IllegalArgumentException 游标无效
+     */
+    public KeysetPage<WordSubmission> getPendingSubmissionsPage(String cursor, int size) {
+        List<WordSubmission> fetched;
+        if (cursor == null || cursor.isEmpty()) {
+            fetched = submissionRepository.findByStatusOrderBySubmittedAtAscIdAsc("PENDING", KeysetPage.fetchRequest(size));
+        } else {
+            KeysetPage.Cursor after = KeysetPage.decode(cursor);
+            fetched = submissionRepository.findPageAfter("PENDING", after.requireTime(), after.getId(),
+                    KeysetPage.fetchRequest(size));
+        }
+        return KeysetPage.of(fetched, size,
+                submission -> KeysetPage.encode(submission.getSubmittedAt(), submission.getId()));
+    }
+    
     /**
      * 根据老师ID获取提交记录
      */
@@ -60,12 +89,25 @@ public class WordSubmissionService {
     
     /**
      * 管理员批准单词
+     * @throws IllegalStateException 单词库中已有相同的单词（如两位老师提交了同一个单词）
      */
     @Transactional
     public WordSubmission approveSubmission(Long id, String adminRemark) {
+        return approve(id, adminRemark, new HashSet<>());
+    }
+    
+    /**
+     * 批准单词
+     * @param approvedKeys 同一事务中已批准的单词的规范形式；事务提交前它们还不在查重索引中
+     */
+    private WordSubmission approve(Long id, String adminRemark, Set<String> approvedKeys) {
         Optional<WordSubmission> optionalSubmission = submissionRepository.findById(id);
         if (optionalSubmission.isPresent()) {
             WordSubmission submission = optionalSubmission.get();
+            if (wordService.isDuplicateEnglish(submission.getEnglish())
+                    || !approvedKeys.add(WordNormalizer.normalizeEnglish(submission.getEnglish()))) {
+                throw new IllegalStateException("单词已存在: " + submission.getEnglish());
+            }
             submission.setStatus("APPROVED");
             submission.setAdminRemark(adminRemark);
             submission.setReviewedAt(LocalDateTime.now());
@@ -80,7 +122,7 @@ public class WordSubmissionService {
             word.setTeacherName(submission.getTeacherName());
             word.setCreatedAt(LocalDateTime.now());
             word.setUpdatedAt(LocalDateTime.now());
-            wordRepository.save(word);
+            wordCatalog.put(wordRepository.save(word));
             
             return submissionRepository.save(submission);
         }
@@ -103,22 +145,27 @@ public class WordSubmissionService {
     }
     
     /**
-     * 批量批准单词
+     * 批量批准单词，单词库中已有或与本批前面重复的单词不批准，计入失败并在 duplicateWords 中返回
      */
     @Transactional
     public java.util.Map<String, Object> batchApproveSubmissions(java.util.List<Long> ids, String adminRemark) {
         java.util.Map<String, Object> result = new java.util.HashMap<>();
         int successCount = 0;
         int failCount = 0;
+        java.util.List<String> duplicateWords = new java.util.ArrayList<>();
+        Set<String> approvedKeys = new HashSet<>();
         
         for (Long id : ids) {
             try {
-                WordSubmission submission = approveSubmission(id, adminRemark);
+                WordSubmission submission = approve(id, adminRemark, approvedKeys);
                 if (submission != null) {
                     successCount++;
                 } else {
                     failCount++;
                 }
+            } catch (IllegalStateException e) {
+                failCount++;
+                submissionRepository.findById(id).ifPresent(submission -> duplicateWords.add(submission.getEnglish()));
             } catch (Exception e) {
                 failCount++;
             }
@@ -126,6 +173,7 @@ public class WordSubmissionService {
         
         result.put("successCount", successCount);
         result.put("failCount", failCount);
+        result.put("duplicateWords", duplicateWords);
         return result;
     }
     
@@ -0,0 +1,204 @@
+package com.example.englishwords.service;
+
+import com.example.englishwords.entity.Word;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 从OCR识别出的文本中解析单词和中文释义
+ */
+@Component
+public class WordTextParser {
+    
+    /**
+     * 解析文本中的单词对
+     * 支持格式：
+     * 1. 英语单词 中文释义
+     * 2. *英语单词 中文释义
+     * 3. 英语单词（括号内容）中文释义
+     * 逐行单遍扫描，不使用正则表达式；除结果外只分配一个可复用的字符缓冲区。
+     * @param text 文本内容
+     * @param grade 年级
+     * @param unit 单元
+     * @return 单词列表
+     */
+    public List<Word> parse(String text, Integer grade, Integer unit) {
+        List<Word> words = new ArrayList<>();
+        int length = text.length();
+        char[] buffer = new char[Math.min(Math.max(length, 16), 256)];
+        
+        int lineStart = 0;
+        while (lineStart <= length) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = length;
+            }
+            if (lineEnd - lineStart > buffer.length) {
+                buffer = new char[lineEnd - lineStart];
+            }
+            
+            // 尝试提取英语单词和中文释义
+            Word word = extractWordFromLine(text, lineStart, lineEnd, buffer, grade, unit);
+            if (word != null && isValidWord(word)) {
+                words.add(word);
+            }
+            lineStart = lineEnd + 1;
+        }
+        
+        return words;
+    }
+    
+    /**
+     * 从单行文本 text[start, end) 中提取单词和释义
+     * 格式: 英语单词 中文释义 或 英语单词（说明）中文释义
+     */
+    private Word extractWordFromLine(String text, int start, int end, char[] buffer, Integer grade, Integer unit) {
+        // 去掉首尾空白
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        // 移除行首的*号和其他空白字符
+        while (start < end && (text.charAt(start) == '*' || isWhitespace(text.charAt(start)))) {
+            start++;
+        }
+        
+        // 找到第一个中文字符的位置，之前为英语部分，之后为中文部分
+        int chineseStart = -1;
+        for (int i = start; i < end; i++) {
+            if (isChinese(text.charAt(i))) {
+                chineseStart = i;
+                break;
+            }
+        }
+        if (chineseStart <= start) {
+            return null;
+        }
+        
+        String english = cleanEnglish(text, start, chineseStart, buffer);
+        if (english == null) {
+            return null;
+        }
+        String chinese = cleanChinese(text, chineseStart, end, buffer);
+        if (chinese == null) {
+            return null;
+        }
+        
+        Word word = new Word();
+        word.setEnglish(english);
+        word.setChinese(chinese);
+        word.setGrade(grade);
+        word.setUnit(unit);
+        LocalDateTime now = LocalDateTime.now();
+        word.setCreatedAt(now);
+        word.setUpdatedAt(now);
+        
+        return word;
+    }
+    
+    /**
+     * 清理英语部分：移除括号及其内容，只保留字母、连字符，连续空白合并为一个空格并去掉首尾空白
+     * @return 清理结果，为空时返回null
+     */
+    private static String cleanEnglish(String text, int start, int end, char[] buffer) {
+        int size = 0;
+        boolean pendingSpace = false;
+        boolean unclosed = false;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (!unclosed && isOpenParen(c)) {
+                int close = indexOfCloseParen(text, i + 1, end);
+                if (close >= 0) {
+                    i = close;
+                    continue;
+                }
+                // 之后不会再有右括号
+                unclosed = true;
+            }
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '-') {
+                if (pendingSpace) {
+                    buffer[size++] = ' ';
+                    pendingSpace = false;
+                }
+                buffer[size++] = c;
+            } else if (isWhitespace(c) && size > 0) {
+                pendingSpace = true;
+            }
+        }
+        return size == 0 ? null : new String(buffer, 0, size);
+    }
+    
+    /**
+     * 清理中文部分：移除以英文字母开头的括号说明，只保留中文字符和 ；，、
+     * @return 清理结果，为空时返回null
+     */
+    private static String cleanChinese(String text, int start, int end, char[] buffer) {
+        int size = 0;
+        boolean unclosed = false;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (!unclosed && isOpenParen(c) && i + 1 < end && isAsciiLetter(text.charAt(i + 1))) {
+                int close = indexOfCloseParen(text, i + 2, end);
+                if (close >= 0) {
+                    i = close;
+                    continue;
+                }
+                unclosed = true;
+            }
+            if (isChinese(c) || c == '；' || c == '，' || c == '、') {
+                buffer[size++] = c;
+            }
+        }
+        return size == 0 ? null : new String(buffer, 0, size);
+    }
+    
+    private static int indexOfCloseParen(String text, int from, int end) {
+        for (int i = from; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == ')' || c == '）') {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private static boolean isOpenParen(char c) {
+        return c == '(' || c == '（';
+    }
+    
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+    
+    /**
+     * 与正则表达式 \s 相同的空白字符
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+    
+    /**
+     * 判断字符是否是中文字符
+     */
+    private static boolean isChinese(char c) {
+        // Unicode范围：CJK统一汉字扩展A区、基本区
+        return (c >= 0x3400 && c <= 0x4DBF) || (c >= 0x4E00 && c <= 0x9FFF);
+    }
+    
+    /**
+     * 验证单词是否有效
+     * @param word 单词对象
+     * @return 是否有效
+     */
+    public boolean isValidWord(Word word) {
+        return word.getEnglish() != null && !word.getEnglish().isEmpty() &&
+               word.getChinese() != null && !word.getChinese().isEmpty() &&
+               word.getEnglish().length() > 1 && word.getEnglish().length() < 50 &&
+               word.getChinese().length() > 1 && word.getChinese().length() < 50;
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.englishwords.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 逐条读取 CSV/TSV 记录，只在内存中保留当前一条记录
+ * 字段可用双引号包围，引号内可以包含分隔符和换行，两个连续双引号表示一个双引号；
+ * 支持 \n、\r\n 和 \r 换行，文件开头的 BOM 会被忽略。
+ * 一条记录最多 maxRecordLength 个字符：引号到文件结束或超出长度仍未闭合时，这条记录按格式错误报告，
+ * 从它的第二个物理行开始继续读取，一个多余的引号不会吞掉文件的其余部分。
+ */
+public class DelimitedRecordReader implements Closeable {
+
+    public static final int DEFAULT_MAX_RECORD_LENGTH = 64 * 1024;
+
+    private final Reader reader;
+    private final char delimiter;
+    private final int maxRecordLength;
+    private final StringBuilder field = new StringBuilder();
+    // 当前记录读到的原始字符，格式错误时从中取出需要重新读取的部分
+    private final StringBuilder raw = new StringBuilder();
+    // 格式错误的记录中需要重新读取的字符
+    private String replay = "";
+    private int replayPos;
+    private int pushedBack = -2;
+    private boolean started;
+    private boolean eof;
+    private int line = 1;
+    private int recordLine;
+
+    /**
+     * @param reader 输入，调用方负责缓冲
+     * @param delimiter 分隔符，如 ',' 或 '\t'
+     */
+    public DelimitedRecordReader(Reader reader, char delimiter) {
+        this(reader, delimiter, DEFAULT_MAX_RECORD_LENGTH);
+    }
+
+    /**
+     * @param reader 输入，调用方负责缓冲
+     * @param delimiter 分隔符，如 ',' 或 '\t'
+     * @param maxRecordLength 一条记录最多的字符数（包括引号内的换行）
+     */
+    public DelimitedRecordReader(Reader reader, char delimiter, int maxRecordLength) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * 读取下一条记录
+     * @return 字段列表，文件结束时返回null
+     * @throws MalformedRecordException 记录格式错误（引号未闭合或记录过长），可以继续读取下一条记录
+     * @throws IOException 读取失败
+     */
+    public List<String> next() throws IOException {
+        if (eof) {
+            return null;
+        }
+        if (!started) {
+            started = true;
+            int first = read();
+            if (first != '\uFEFF') {
+                unread(first);
+            }
+        }
+        int c = read();
+        if (c < 0) {
+            eof = true;
+            return null;
+        }
+        unread(c);
+
+        recordLine = line;
+        raw.setLength(0);
+        // 引号内第一个换行之后的位置，-1 表示记录还在第一个物理行
+        int firstLineEnd = -1;
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean fieldStart = true;
+        while (true) {
+            c = read();
+            if (raw.length() > maxRecordLength) {
+                throw malformed(firstLineEnd, quoted ? "引号未闭合" : "记录过长");
+            }
+            if (quoted) {
+                if (c < 0) {
+                    throw malformed(firstLineEnd, "引号未闭合");
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(next);
+                    }
+                    continue;
+                }
+                field.append((char) c);
+                if (c == '\n' || c == '\r') {
+                    if (c == '\r') {
+                        int next = read();
+                        if (next == '\n') {
+                            field.append('\n');
+                        } else {
+                            unread(next);
+                        }
+                    }
+                    line++;
+                    if (firstLineEnd < 0) {
+                        firstLineEnd = raw.length();
+                    }
+                }
+                continue;
+            }
+            if (c < 0 || c == '\n') {
+                break;
+            }
+            if (c == '\r') {
+                int next = read();
+                if (next != '\n') {
+                    unread(next);
+                }
+                break;
+            }
+            if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+                continue;
+            }
+            if (c == '"' && fieldStart) {
+                quoted = true;
+                fieldStart = false;
+                continue;
+            }
+            fieldStart = false;
+            field.append((char) c);
+        }
+        if (c < 0) {
+            eof = true;
+        } else {
+            line++;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * 最近一次 next() 返回（或报告格式错误）的记录开始的物理行号，从1开始
+     */
+    public int getLineNumber() {
+        return recordLine;
+    }
+
+    /**
+     * 放弃当前记录：引号跨行时从记录的第二个物理行重新读取，否则跳过第一个物理行的其余字符
+     */
+    private MalformedRecordException malformed(int firstLineEnd, String reason) throws IOException {
+        if (firstLineEnd >= 0) {
+            StringBuilder rest = new StringBuilder(raw.length() - firstLineEnd + 1);
+            rest.append(raw, firstLineEnd, raw.length());
+            if (pushedBack >= 0) {
+                rest.append((char) pushedBack);
+            }
+            pushedBack = -2;
+            rest.append(replay, replayPos, replay.length());
+            replay = rest.toString();
+            replayPos = 0;
+            line = recordLine + 1;
+        } else {
+            int c = read();
+            while (c >= 0 && c != '\n' && c != '\r') {
+                raw.setLength(0);
+                c = read();
+            }
+            if (c == '\r') {
+                int next = read();
+                if (next != '\n') {
+                    unread(next);
+                }
+            }
+            if (c < 0) {
+                eof = true;
+            }
+            line = recordLine + 1;
+        }
+        raw.setLength(0);
+        field.setLength(0);
+        return new MalformedRecordException(recordLine, reason);
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pushedBack != -2) {
+            c = pushedBack;
+            pushedBack = -2;
+        } else if (replayPos < replay.length()) {
+            c = replay.charAt(replayPos++);
+        } else {
+            c = reader.read();
+        }
+        if (c >= 0) {
+            raw.append((char) c);
+        }
+        return c;
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+        if (c >= 0) {
+            raw.setLength(raw.length() - 1);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * 一条记录格式错误，读取器已跳过这条记录，可以继续读取
+     */
+    public static class MalformedRecordException extends IOException {
+        private final int lineNumber;
+        private final String reason;
+
+        public MalformedRecordException(int lineNumber, String reason) {
+            super("第" + lineNumber + "行: " + reason);
+            this.lineNumber = lineNumber;
+            this.reason = reason;
+        }
+
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.englishwords.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Component;
 
@@ -12,46 +14,57 @@ import java.util.Date;
 @Component
 public class JwtUtil {
     
+    public static final String ROLE_CLAIM = "role";
+    
     private Key secretKey = Keys.hmacShaKeyFor("mySecretKeyForEnglishWordsApp1234567890".getBytes());
     private long expirationTime = 86400000; // 24小时
     
+    // 解析器是不可变且线程安全的，复用同一个实例
+    private final JwtParser jwtParser = Jwts.parserBuilder().setSigningKey(secretKey).build();
+    
     public String generateToken(String username) {
+        return generateToken(username, null);
+    }
+    
+    /**
+     * 生成令牌，角色作为 role 声明写入，过滤器无需再查询数据库
+     */
+    public String generateToken(String username, String role) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expirationTime);
         
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(username)
                 .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(secretKey)
-                .compact();
+                .setExpiration(expiryDate);
+        if (role != null) {
+            builder.claim(ROLE_CLAIM, role);
+        }
+        return builder.signWith(secretKey).compact();
+    }
+    
+    /**
+     * 解析令牌并校验签名和过期时间，整个过程只解析一次
+     * @return 令牌的声明，令牌无效或已过期时返回null
+     */
+    public Claims parseClaims(String token) {
+        try {
+            return jwtParser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
     }
     
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        
-        return claims.getSubject();
+        return jwtParser.parseClaimsJws(token).getBody().getSubject();
     }
     
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return parseClaims(token) != null;
     }
     
     public boolean isTokenExpired(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
         
         return claims.getExpiration().before(new Date());
     }
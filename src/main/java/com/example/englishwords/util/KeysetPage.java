@@ -0,0 +1,142 @@
+package com.example.englishwords.util;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 键集分页（keyset pagination）的一页结果
+ * 下一页从本页最后一条记录的排序键（ID，或 时间+ID）之后继续查询，不使用 OFFSET，
+ * 翻到多深都只扫描一页的行。排序键编码为不透明的游标字符串返回给客户端。
+ */
+public final class KeysetPage<T> {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 200;
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    private KeysetPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * 下一页的游标，没有更多数据时为null
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * 每页条数限制在 1~MAX_SIZE 之间，未指定时为 DEFAULT_SIZE
+     */
+    public static int clampSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+
+    /**
+     * 查询一页时多取一条，用来判断是否还有下一页
+     */
+    public static Pageable fetchRequest(int size) {
+        return PageRequest.of(0, size + 1);
+    }
+
+    /**
+     * 由多取了一条的查询结果组装一页
+     * @param fetched 按 fetchRequest(size) 查询的结果
+     * @param size 每页条数
+     * @param cursorOf 由一条记录生成游标
+     */
+    public static <T> KeysetPage<T> of(List<T> fetched, int size, Function<T, String> cursorOf) {
+        if (fetched.size() <= size) {
+            return new KeysetPage<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, size);
+        return new KeysetPage<>(items, cursorOf.apply(items.get(size - 1)));
+    }
+
+    /**
+     * 只按ID排序的游标
+     */
+    public static String encode(Long id) {
+        return encode(null, id);
+    }
+
+    /**
+     * 按 (时间, ID) 排序的游标
+     * 排序用的时间列必须是 NOT NULL：NULL 既无法与游标比较，也会被大于/小于条件排除
+     */
+    public static String encode(LocalDateTime time, Long id) {
+        String key = (time == null ? "" : time.toString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标
+     * @throws IllegalArgumentException 游标无效
+     */
+    public static Cursor decode(String cursor) {
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = key.lastIndexOf('|');
+            if (separator >= 0) {
+                LocalDateTime time = separator == 0 ? null : LocalDateTime.parse(key.substring(0, separator));
+                return new Cursor(time, Long.valueOf(key.substring(separator + 1)));
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Base64 或数字格式错误
+            throw new IllegalArgumentException("无效的分页游标", e);
+        }
+        throw new IllegalArgumentException("无效的分页游标");
+    }
+
+    /**
+     * 游标中的排序键
+     */
+    public static final class Cursor {
+        private final LocalDateTime time;
+        private final Long id;
+
+        Cursor(LocalDateTime time, Long id) {
+            this.time = time;
+            this.id = id;
+        }
+
+        /**
+         * 时间排序键；只按ID排序的游标为null
+         */
+        public LocalDateTime getTime() {
+            return time;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        /**
+         * 按 (时间, ID) 排序的查询要求游标带有时间
+         * @throws IllegalArgumentException 游标不带时间
+         */
+        public LocalDateTime requireTime() {
+            if (time == null) {
+                throw new IllegalArgumentException("无效的分页游标");
+            }
+            return time;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.englishwords.util;
+
+import java.util.Random;
+
+/**
+ * 无放回随机抽样工具类
+ * 使用稀疏的部分 Fisher–Yates 洗牌：只记录被交换过的位置，
+ * 从 n 个元素中抽取 k 个的时间和空间复杂度均为 O(k)。
+ */
+public final class RandomSampler {
+
+    private RandomSampler() {
+    }
+
+    /**
+     * 从 [0, n) 中无放回地抽取 k 个下标
+     * @param n 总数
+     * @param k 抽取个数，大于 n 时按 n 处理
+     * @param random 随机数源（生产环境用 ThreadLocalRandom，测试可传入固定种子的 Random）
+     * @return 抽中的下标，顺序即为随机顺序
+     */
+    public static int[] sampleIndices(int n, int k, Random random) {
+        if (n < 0 || k < 0) {
+            throw new IllegalArgumentException("n和k不能为负数");
+        }
+        k = Math.min(k, n);
+        int[] result = new int[k];
+        if (k == 0) {
+            return result;
+        }
+        SwapTable swaps = new SwapTable(k);
+        for (int i = 0; i < k; i++) {
+            int j = i + random.nextInt(n - i);
+            int valueAtJ = swaps.get(j, j);
+            int valueAtI = swaps.get(i, i);
+            swaps.put(j, valueAtI);
+            result[i] = valueAtJ;
+        }
+        return result;
+    }
+
+    /**
+     * 记录部分洗牌过程中被交换过的位置（int到int的开放寻址哈希表）
+     */
+    private static final class SwapTable {
+
+        private final int[] keys;
+        private final int[] values;
+        private final boolean[] used;
+        private final int mask;
+
+        SwapTable(int expected) {
+            // 每轮最多写入一个位置，容量取不小于2k的2的幂，保证负载因子不超过0.5
+            int capacity = Integer.highestOneBit(Math.max(2, expected * 2 - 1)) << 1;
+            keys = new int[capacity];
+            values = new int[capacity];
+            used = new boolean[capacity];
+            mask = capacity - 1;
+        }
+
+        int get(int key, int defaultValue) {
+            int slot = mix(key) & mask;
+            while (used[slot]) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return defaultValue;
+        }
+
+        void put(int key, int value) {
+            int slot = mix(key) & mask;
+            while (used[slot]) {
+                if (keys[slot] == key) {
+                    values[slot] = value;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            used[slot] = true;
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
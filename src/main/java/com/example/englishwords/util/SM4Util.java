@@ -5,11 +5,19 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.Cipher;
 import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
 import java.security.Security;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * SM4加密工具类
+ * Cipher 的提供者查找和初始化开销较大且实例不是线程安全的，
+ * 因此每个线程按密钥缓存一对已初始化的加密/解密 Cipher，同一实例不会被两个线程同时使用。
+ * ECB 模式下 doFinal 完成后 Cipher 回到初始化后的状态，可直接复用。
  */
 @Component
 public class SM4Util {
@@ -19,10 +27,17 @@ public class SM4Util {
         Security.addProvider(new BouncyCastleProvider());
     }
     
+    private static final String TRANSFORMATION = "SM4/ECB/PKCS5Padding";
+    
+    // 每个线程最多缓存的密钥数，超过后清空重建
+    private static final int MAX_KEYS_PER_THREAD = 8;
+    
     // 默认密钥（16字节/128位）- SM4算法要求
     // "1234567890123456" = 16字节
     private static final String DEFAULT_KEY = "1234567890123456";
     
+    private static final ThreadLocal<Map<String, CipherPair>> CIPHERS = ThreadLocal.withInitial(HashMap::new);
+    
     /**
      * SM4加密
      * @param content 待加密内容
@@ -30,15 +45,8 @@ public class SM4Util {
      * @return 加密后的内容
      */
     public static String encrypt(String content, String key) {
-        try {
-            SecretKeySpec secretKeySpec = new SecretKeySpec(key.getBytes("UTF-8"), "SM4");
-            Cipher cipher = Cipher.getInstance("SM4/ECB/PKCS5Padding", "BC");
-            cipher.init(Cipher.ENCRYPT_MODE, secretKeySpec);
-            byte[] encrypted = cipher.doFinal(content.getBytes("UTF-8"));
-            return Base64.getEncoder().encodeToString(encrypted);
-        } catch (Exception e) {
-            throw new RuntimeException("SM4加密失败", e);
-        }
+        byte[] encrypted = encrypt(content.getBytes(StandardCharsets.UTF_8), key);
+        return Base64.getEncoder().encodeToString(encrypted);
     }
     
     /**
@@ -48,13 +56,44 @@ public class SM4Util {
      * @return 解密后的内容
      */
     public static String decrypt(String content, String key) {
+        byte[] decrypted;
         try {
-            SecretKeySpec secretKeySpec = new SecretKeySpec(key.getBytes("UTF-8"), "SM4");
-            Cipher cipher = Cipher.getInstance("SM4/ECB/PKCS5Padding", "BC");
-            cipher.init(Cipher.DECRYPT_MODE, secretKeySpec);
-            byte[] decrypted = cipher.doFinal(Base64.getDecoder().decode(content));
-            return new String(decrypted, "UTF-8");
-        } catch (Exception e) {
+            decrypted = decrypt(Base64.getDecoder().decode(content), key);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("SM4解密失败", e);
+        }
+        return new String(decrypted, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * SM4加密（字节数组，不做Base64编码）
+     * @param content 待加密内容
+     * @param key 密钥
+     * @return 密文
+     */
+    public static byte[] encrypt(byte[] content, String key) {
+        CipherPair pair = ciphers(key);
+        try {
+            return pair.encrypt.doFinal(content);
+        } catch (GeneralSecurityException | RuntimeException e) {
+            discard(key);
+            throw new RuntimeException("SM4加密失败", e);
+        }
+    }
+    
+    /**
+     * SM4解密（字节数组，不做Base64解码）
+     * @param content 密文
+     * @param key 密钥
+     * @return 明文
+     */
+    public static byte[] decrypt(byte[] content, String key) {
+        CipherPair pair = ciphers(key);
+        try {
+            return pair.decrypt.doFinal(content);
+        } catch (GeneralSecurityException | RuntimeException e) {
+            // 出错后 Cipher 的状态不确定，丢弃重建
+            discard(key);
             throw new RuntimeException("SM4解密失败", e);
         }
     }
@@ -78,17 +117,57 @@ public class SM4Util {
     }
     
     /**
-     * 验证密码是否匹配
+     * 验证密码是否匹配（比较耗时与不匹配的位置无关）
      * @param rawPassword 明文密码
      * @param encodedPassword 加密后的密码
      * @return 是否匹配
      */
     public static boolean matches(String rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return false;
+        }
         try {
-            String decrypted = decrypt(encodedPassword);
-            return decrypted.equals(rawPassword);
+            byte[] decrypted = decrypt(Base64.getDecoder().decode(encodedPassword), DEFAULT_KEY);
+            return MessageDigest.isEqual(decrypted, rawPassword.getBytes(StandardCharsets.UTF_8));
         } catch (Exception e) {
             return false;
         }
     }
+    
+    private static CipherPair ciphers(String key) {
+        Map<String, CipherPair> cache = CIPHERS.get();
+        CipherPair pair = cache.get(key);
+        if (pair == null) {
+            if (cache.size() >= MAX_KEYS_PER_THREAD) {
+                cache.clear();
+            }
+            pair = new CipherPair(key);
+            cache.put(key, pair);
+        }
+        return pair;
+    }
+    
+    private static void discard(String key) {
+        CIPHERS.get().remove(key);
+    }
+    
+    /**
+     * 同一密钥已初始化的加密和解密 Cipher，只在所属线程内使用
+     */
+    private static final class CipherPair {
+        final Cipher encrypt;
+        final Cipher decrypt;
+        
+        CipherPair(String key) {
+            try {
+                SecretKeySpec secretKeySpec = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "SM4");
+                encrypt = Cipher.getInstance(TRANSFORMATION, BouncyCastleProvider.PROVIDER_NAME);
+                encrypt.init(Cipher.ENCRYPT_MODE, secretKeySpec);
+                decrypt = Cipher.getInstance(TRANSFORMATION, BouncyCastleProvider.PROVIDER_NAME);
+                decrypt.init(Cipher.DECRYPT_MODE, secretKeySpec);
+            } catch (GeneralSecurityException e) {
+                throw new RuntimeException("SM4初始化失败", e);
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.example.englishwords.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 最近验证通过的JWT令牌缓存
+ * 以令牌的 SHA-256 摘要为键（不保存令牌原文），容量有上限（LRU淘汰），
+ * 每个条目在令牌自身的过期时间之后失效。
+ * 命中缓存时跳过签名校验和数据库查询。
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    });
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, VerifiedToken> entries;
+
+    public VerifiedTokenCache(@Value("${jwt.verified-cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<String, VerifiedToken>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > VerifiedTokenCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 获取已验证的令牌信息，未缓存或已过期时返回null
+     */
+    public VerifiedToken get(String token) {
+        String key = hash(token);
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            VerifiedToken verified = entries.get(key);
+            if (verified == null) {
+                return null;
+            }
+            if (verified.getExpiresAt() <= now) {
+                entries.remove(key);
+                return null;
+            }
+            return verified;
+        }
+    }
+
+    public void put(String token, VerifiedToken verified) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        String key = hash(token);
+        synchronized (entries) {
+            entries.put(key, verified);
+        }
+    }
+
+    private static String hash(String token) {
+        byte[] digest = SHA256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(digest);
+    }
+
+    /**
+     * 验证通过的令牌：用户名、角色和过期时间
+     */
+    public static final class VerifiedToken {
+        private final String username;
+        private final String role;
+        private final long expiresAt;
+
+        public VerifiedToken(String username, String role, long expiresAt) {
+            this.username = username;
+            this.role = role;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+    }
+}
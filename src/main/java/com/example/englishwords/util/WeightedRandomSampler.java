@@ -0,0 +1,100 @@
+package com.example.englishwords.util;
+
+import java.util.Random;
+
+/**
+ * 加权无放回随机抽样工具类
+ * 使用 Efraimidis–Spirakis 算法：为每个元素生成键 ln(u)/w，保留键最大的 k 个。
+ * 用大小为 k 的最小堆维护候选，时间复杂度 O(n log k)，不会抽到重复元素。
+ */
+public final class WeightedRandomSampler {
+
+    private WeightedRandomSampler() {
+    }
+
+    /**
+     * 按权重从 [0, weights.length) 中无放回地抽取 k 个下标
+     * @param weights 每个下标的权重，小于等于0的下标不会被抽中
+     * @param k 抽取个数
+     * @param random 随机数源
+     * @return 抽中的下标，按键从大到小排列（即抽中的先后顺序）
+     */
+    public static int[] sampleIndices(double[] weights, int k, Random random) {
+        int n = weights.length;
+        k = Math.min(k, n);
+        if (k <= 0) {
+            return new int[0];
+        }
+        double[] heapKeys = new double[k];
+        int[] heapIndices = new int[k];
+        int size = 0;
+        for (int i = 0; i < n; i++) {
+            double weight = weights[i];
+            if (!(weight > 0)) {
+                continue;
+            }
+            // ln(u)/w 与 u^(1/w) 单调一致，避免 w 很大时 pow 下溢
+            double u = 1.0 - random.nextDouble();
+            double key = Math.log(u) / weight;
+            if (size < k) {
+                heapKeys[size] = key;
+                heapIndices[size] = i;
+                siftUp(heapKeys, heapIndices, size);
+                size++;
+            } else if (key > heapKeys[0]) {
+                heapKeys[0] = key;
+                heapIndices[0] = i;
+                siftDown(heapKeys, heapIndices, 0, size);
+            }
+        }
+        // 依次弹出堆顶，倒序写入即得到键从大到小的顺序
+        int[] result = new int[size];
+        for (int last = size - 1; last >= 0; last--) {
+            result[last] = heapIndices[0];
+            heapKeys[0] = heapKeys[last];
+            heapIndices[0] = heapIndices[last];
+            siftDown(heapKeys, heapIndices, 0, last);
+        }
+        return result;
+    }
+
+    private static void siftUp(double[] keys, int[] indices, int pos) {
+        double key = keys[pos];
+        int index = indices[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            keys[pos] = keys[parent];
+            indices[pos] = indices[parent];
+            pos = parent;
+        }
+        keys[pos] = key;
+        indices[pos] = index;
+    }
+
+    private static void siftDown(double[] keys, int[] indices, int pos, int size) {
+        if (size == 0) {
+            return;
+        }
+        double key = keys[pos];
+        int index = indices[pos];
+        int half = size >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            int right = child + 1;
+            if (right < size && keys[right] < keys[child]) {
+                child = right;
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            keys[pos] = keys[child];
+            indices[pos] = indices[child];
+            pos = child;
+        }
+        keys[pos] = key;
+        indices[pos] = index;
+    }
+}
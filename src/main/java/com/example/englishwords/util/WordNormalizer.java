@@ -0,0 +1,50 @@
+package com.example.englishwords.util;
+
+/**
+ * 单词查重用的英文规范形式
+ */
+public final class WordNormalizer {
+
+    private WordNormalizer() {
+    }
+
+    /**
+     * 英文的规范形式：去掉括号（半角或全角）及其中的说明，转为小写，连续空白合并为一个空格并去掉首尾空白
+     * 如 "  Apple (n.)  Pie" 与 "apple pie" 的规范形式相同
+     * @return 规范形式，english 为null时返回空字符串
+     */
+    public static String normalizeEnglish(String english) {
+        if (english == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(english.length());
+        int depth = 0;
+        boolean pendingSpace = false;
+        for (int i = 0; i < english.length(); i++) {
+            char c = english.charAt(i);
+            if (c == '(' || c == '（') {
+                depth++;
+                continue;
+            }
+            if (c == ')' || c == '）') {
+                if (depth > 0) {
+                    depth--;
+                }
+                continue;
+            }
+            if (depth > 0) {
+                continue;
+            }
+            if (Character.isWhitespace(c) || c == '\u3000') {
+                pendingSpace = sb.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                sb.append(' ');
+                pendingSpace = false;
+            }
+            sb.append(Character.toLowerCase(c));
+        }
+        return sb.toString();
+    }
+}
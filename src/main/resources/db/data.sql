@@ -11,27 +11,34 @@ INSERT INTO `englishwords`.`user` (`username`, `password`, `nick_name`, `total_s
 ('testuser', 'test123', '测试用户', 0, 'USER', 1, NOW(), NOW());
 
 -- 插入示例单词数据
-INSERT INTO `englishwords`.`word` (`english`, `chinese`, `grade`, `unit`, `created_at`, `updated_at`) VALUES
-('apple', '苹果', 1, 1, NOW(), NOW()),
-('banana', '香蕉', 1, 1, NOW(), NOW()),
-('orange', '橙子', 1, 1, NOW(), NOW()),
-('grape', '葡萄', 1, 1, NOW(), NOW()),
-('watermelon', '西瓜', 1, 1, NOW(), NOW()),
-('strawberry', '草莓', 1, 1, NOW(), NOW()),
-('pineapple', '菠萝', 1, 1, NOW(), NOW()),
-('mango', '芒果', 1, 1, NOW(), NOW()),
-('peach', '桃子', 1, 1, NOW(), NOW()),
-('pear', '梨', 1, 1, NOW(), NOW()),
-('computer', '计算机', 1, 2, NOW(), NOW()),
-('phone', '电话', 1, 2, NOW(), NOW()),
-('book', '书', 1, 2, NOW(), NOW()),
-('pen', '笔', 1, 2, NOW(), NOW()),
-('pencil', '铅笔', 1, 2, NOW(), NOW()),
-('desk', '桌子', 1, 2, NOW(), NOW()),
-('chair', '椅子', 1, 2, NOW(), NOW()),
-('window', '窗户', 1, 2, NOW(), NOW()),
-('door', '门', 1, 2, NOW(), NOW()),
-('light', '灯', 1, 2, NOW(), NOW());
+INSERT INTO `englishwords`.`word` (`id`, `english`, `chinese`, `grade`, `unit`, `created_at`, `updated_at`) VALUES
+(1, 'apple', '苹果', 1, 1, NOW(), NOW()),
+(2, 'banana', '香蕉', 1, 1, NOW(), NOW()),
+(3, 'orange', '橙子', 1, 1, NOW(), NOW()),
+(4, 'grape', '葡萄', 1, 1, NOW(), NOW()),
+(5, 'watermelon', '西瓜', 1, 1, NOW(), NOW()),
+(6, 'strawberry', '草莓', 1, 1, NOW(), NOW()),
+(7, 'pineapple', '菠萝', 1, 1, NOW(), NOW()),
+(8, 'mango', '芒果', 1, 1, NOW(), NOW()),
+(9, 'peach', '桃子', 1, 1, NOW(), NOW()),
+(10, 'pear', '梨', 1, 1, NOW(), NOW()),
+(11, 'computer', '计算机', 1, 2, NOW(), NOW()),
+(12, 'phone', '电话', 1, 2, NOW(), NOW()),
+(13, 'book', '书', 1, 2, NOW(), NOW()),
+(14, 'pen', '笔', 1, 2, NOW(), NOW()),
+(15, 'pencil', '铅笔', 1, 2, NOW(), NOW()),
+(16, 'desk', '桌子', 1, 2, NOW(), NOW()),
+(17, 'chair', '椅子', 1, 2, NOW(), NOW()),
+(18, 'window', '窗户', 1, 2, NOW(), NOW()),
+(19, 'door', '门', 1, 2, NOW(), NOW()),
+(20, 'light', '灯', 1, 2, NOW(), NOW());
+
+-- 示例单词不含空白和括号，规范形式即小写形式
+UPDATE `englishwords`.`word` SET `english_norm` = LOWER(`english`);
+
+-- 单词ID从现有最大ID之后开始分配
+INSERT INTO `englishwords`.`id_generator` (`name`, `next_val`)
+SELECT 'word', COALESCE(MAX(`id`), 0) + 1 FROM `englishwords`.`word`;
 
 -- 插入示例考试记录数据
 INSERT INTO `englishwords`.`exam_record` (`user_id`, `score`, `total_questions`, `correct_answers`, `wrong_answers`, `exam_time_seconds`, `created_at`) VALUES
@@ -10,6 +10,7 @@ DROP TABLE IF EXISTS `englishwords`.`user_word_error`;
 DROP TABLE IF EXISTS `englishwords`.`exam_record`;
 DROP TABLE IF EXISTS `englishwords`.`word`;
 DROP TABLE IF EXISTS `englishwords`.`user`;
+DROP TABLE IF EXISTS `englishwords`.`id_generator`;
 
 -- 重新启用外键约束检查
 SET FOREIGN_KEY_CHECKS = 1;
@@ -31,8 +32,9 @@ CREATE TABLE `englishwords`.`user` (
 
 -- 创建单词表
 CREATE TABLE `englishwords`.`word` (
-  `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '单词ID',
+  `id` BIGINT NOT NULL COMMENT '单词ID(由 id_generator 表分配，不使用自增)',
   `english` VARCHAR(255) NOT NULL COMMENT '英文单词',
+  `english_norm` VARCHAR(255) DEFAULT NULL COMMENT '英文规范形式(小写、合并空白、去掉括号说明，查重用)',
   `chinese` VARCHAR(255) NOT NULL COMMENT '中文翻译',
   `grade` INT NOT NULL COMMENT '年级',
   `unit` INT NOT NULL COMMENT '单元',
@@ -41,9 +43,17 @@ CREATE TABLE `englishwords`.`word` (
   `created_at` DATETIME DEFAULT NULL COMMENT '创建时间',
   `updated_at` DATETIME DEFAULT NULL COMMENT '更新时间',
   PRIMARY KEY (`id`),
+  UNIQUE KEY `UK_WORD_ENGLISH_NORM` (`english_norm`),
   INDEX `idx_grade_unit` (`grade`, `unit`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='单词表';
 
+-- 创建ID分配表（单词ID按块分配，以便批量插入）
+CREATE TABLE `englishwords`.`id_generator` (
+  `name` VARCHAR(64) NOT NULL COMMENT '序列名称',
+  `next_val` BIGINT NOT NULL COMMENT '下一个可分配的ID',
+  PRIMARY KEY (`name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='ID分配表';
+
 -- 创建考试记录表
 CREATE TABLE `englishwords`.`exam_record` (
   `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '考试记录ID',
@@ -53,8 +63,9 @@ CREATE TABLE `englishwords`.`exam_record` (
   `correct_answers` INT NOT NULL COMMENT '正确答案数',
   `wrong_answers` INT NOT NULL COMMENT '错误答案数',
   `exam_time_seconds` INT NOT NULL COMMENT '考试用时（秒）',
-  `created_at` DATETIME DEFAULT NULL COMMENT '创建时间',
+  `created_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
   PRIMARY KEY (`id`),
+  INDEX `idx_exam_record_user_created` (`user_id`, `created_at`, `id`),
   CONSTRAINT `FK_EXAM_RECORD_USER` FOREIGN KEY (`user_id`) REFERENCES `englishwords`.`user` (`id`) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='考试记录表';
 
@@ -66,6 +77,7 @@ CREATE TABLE `englishwords`.`user_word_error` (
   `error_count` INT NOT NULL DEFAULT 0 COMMENT '错误次数',
   `updated_at` DATETIME DEFAULT NULL COMMENT '更新时间',
   PRIMARY KEY (`id`),
+  UNIQUE KEY `UK_USER_WORD_ERROR_USER_WORD` (`user_id`, `word_id`),
   CONSTRAINT `FK_USER_WORD_ERROR_USER` FOREIGN KEY (`user_id`) REFERENCES `englishwords`.`user` (`id`) ON DELETE CASCADE,
   CONSTRAINT `FK_USER_WORD_ERROR_WORD` FOREIGN KEY (`word_id`) REFERENCES `englishwords`.`word` (`id`) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='用户单词错误记录表';
@@ -85,12 +97,13 @@ CREATE TABLE `englishwords`.`word_feedback` (
   `grade` INT DEFAULT NULL COMMENT '单词年级',
   `unit` INT DEFAULT NULL COMMENT '单词单元',
   `admin_remark` TEXT COMMENT '管理员处理备注',
-  `created_at` DATETIME DEFAULT NULL COMMENT '创建时间',
+  `created_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
   `resolved_at` DATETIME DEFAULT NULL COMMENT '处理时间',
   PRIMARY KEY (`id`),
   INDEX `idx_word_feedback_status` (`status`),
   INDEX `idx_word_feedback_user` (`user_id`),
-  INDEX `idx_word_feedback_teacher` (`teacher_id`)
+  INDEX `idx_word_feedback_teacher` (`teacher_id`),
+  INDEX `idx_word_feedback_created` (`created_at`, `id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='单词反馈表';
 
 -- 创建单词提交审批表
@@ -104,9 +117,9 @@ CREATE TABLE `englishwords`.`word_submission` (
   `teacher_name` VARCHAR(100) DEFAULT NULL COMMENT '老师姓名',
   `status` VARCHAR(20) DEFAULT 'PENDING' COMMENT '状态：PENDING-待审批, APPROVED-已通过, REJECTED-已拒绝',
   `admin_remark` TEXT COMMENT '管理员审批意见',
-  `submitted_at` DATETIME DEFAULT NULL COMMENT '提交时间',
+  `submitted_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '提交时间',
   `reviewed_at` DATETIME DEFAULT NULL COMMENT '审批时间',
   PRIMARY KEY (`id`),
   INDEX `idx_teacher_id` (`teacher_id`),
-  INDEX `idx_status` (`status`)
+  INDEX `idx_status_submitted` (`status`, `submitted_at`, `id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='单词提交审批表';
\ No newline at end of file
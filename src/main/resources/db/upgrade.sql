@@ -0,0 +1,102 @@
+-- 已有数据库的升级脚本（新安装直接执行 schema.sql 和 data.sql，不需要本脚本）
+-- 按段落顺序执行，已执行过的段落不要重复执行
+
+SET NAMES utf8mb4;
+
+-- ---------------------------------------------------------------
+-- 单词ID改为从 id_generator 表按块分配（批量插入单词）
+-- 必须在新版本启动前执行：缺少该表或 'word' 行时，Hibernate 会从1开始分配ID，与已有单词冲突
+-- ---------------------------------------------------------------
+CREATE TABLE IF NOT EXISTS `englishwords`.`id_generator` (
+  `name` VARCHAR(64) NOT NULL COMMENT '序列名称',
+  `next_val` BIGINT NOT NULL COMMENT '下一个可分配的ID',
+  PRIMARY KEY (`name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='ID分配表';
+
+-- 单词ID从现有最大ID之后开始分配
+INSERT INTO `englishwords`.`id_generator` (`name`, `next_val`)
+SELECT 'word', COALESCE(MAX(`id`), 0) + 1 FROM `englishwords`.`word`
+WHERE NOT EXISTS (SELECT 1 FROM `englishwords`.`id_generator` WHERE `name` = 'word');
+
+-- 去掉自增：单词只能通过应用（id_generator）插入，直接用SQL插入会占用之后要分配的ID
+SET FOREIGN_KEY_CHECKS = 0;
+ALTER TABLE `englishwords`.`word`
+  MODIFY `id` BIGINT NOT NULL COMMENT '单词ID(由 id_generator 表分配，不使用自增)';
+SET FOREIGN_KEY_CHECKS = 1;
+
+-- ---------------------------------------------------------------
+-- 单词查重：英文规范形式列及唯一约束
+-- 规范形式与 WordNormalizer.normalizeEnglish 相同：去掉括号（含全角括号）及其中的说明（括号未闭合时去掉其后全部内容），
+-- 连续空白（含全角空格）合并为一个空格并去掉首尾空白，转为小写。需要 MySQL 8.0 的 REGEXP_REPLACE，
+-- 括号最多按三层嵌套处理。
+-- 添加唯一约束前先查出并处理重复的单词：
+--   SELECT `english_norm`, COUNT(*) FROM `englishwords`.`word` GROUP BY `english_norm` HAVING COUNT(*) > 1;
+-- ---------------------------------------------------------------
+ALTER TABLE `englishwords`.`word`
+  ADD COLUMN `english_norm` VARCHAR(255) DEFAULT NULL COMMENT '英文规范形式(小写、合并空白、去掉括号说明，查重用)' AFTER `english`;
+
+UPDATE `englishwords`.`word` SET `english_norm` = LOWER(TRIM(
+  REGEXP_REPLACE(
+    REGEXP_REPLACE(
+      REGEXP_REPLACE(
+        REGEXP_REPLACE(
+          REGEXP_REPLACE(
+            REGEXP_REPLACE(`english`, '[(（][^()（）]*[)）]', ''),
+            '[(（][^()（）]*[)）]', ''),
+          '[(（][^()（）]*[)）]', ''),
+        '[(（][\\s\\S]*', ''),
+      '[)）]', ''),
+    '[\\t\\n\\x{0B}\\f\\r\\x{1C}-\\x{1F} \\x{1680}\\x{2000}-\\x{2006}\\x{2008}-\\x{200A}\\x{2028}\\x{2029}\\x{205F}\\x{3000}]+', ' ')))
+WHERE `english_norm` IS NULL;
+
+ALTER TABLE `englishwords`.`word` ADD UNIQUE KEY `UK_WORD_ENGLISH_NORM` (`english_norm`);
+
+-- ---------------------------------------------------------------
+-- 键集分页：排序用的时间列不允许为NULL，并添加与排序一致的索引
+-- 已有的NULL填为 1970-01-01，与 MySQL 把NULL排在最前（升序）/最后（倒序）的原有顺序一致
+-- ---------------------------------------------------------------
+UPDATE `englishwords`.`exam_record` SET `created_at` = '1970-01-01 00:00:00' WHERE `created_at` IS NULL;
+ALTER TABLE `englishwords`.`exam_record`
+  MODIFY `created_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间';
+
+UPDATE `englishwords`.`word_feedback` SET `created_at` = '1970-01-01 00:00:00' WHERE `created_at` IS NULL;
+ALTER TABLE `englishwords`.`word_feedback`
+  MODIFY `created_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间';
+
+UPDATE `englishwords`.`word_submission` SET `submitted_at` = '1970-01-01 00:00:00' WHERE `submitted_at` IS NULL;
+ALTER TABLE `englishwords`.`word_submission`
+  MODIFY `submitted_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '提交时间';
+
+-- 与键集分页排序一致的组合索引，深页不再对整表排序
+ALTER TABLE `englishwords`.`exam_record`
+  ADD INDEX `idx_exam_record_user_created` (`user_id`, `created_at`, `id`);
+
+ALTER TABLE `englishwords`.`word_feedback`
+  ADD INDEX `idx_word_feedback_created` (`created_at`, `id`);
+
+-- (status, submitted_at, id) 覆盖原来按 status 的查询，替换 idx_status
+ALTER TABLE `englishwords`.`word_submission`
+  DROP INDEX `idx_status`,
+  ADD INDEX `idx_status_submitted` (`status`, `submitted_at`, `id`);
+
+-- ---------------------------------------------------------------
+-- 错题记录：每个用户每个单词只有一行，交卷后的批量写入依赖该唯一约束做 upsert，
+-- 并发写入同一行时由唯一约束报冲突后重试，而不是插入重复行
+-- 添加唯一约束前先合并已有的重复行：保留ID最小的一行，错误次数累加，更新时间取最新
+-- ---------------------------------------------------------------
+UPDATE `englishwords`.`user_word_error` e
+JOIN (
+  SELECT `user_id`, `word_id`, MIN(`id`) AS `keep_id`,
+         SUM(`error_count`) AS `total_count`, MAX(`updated_at`) AS `last_updated`
+  FROM `englishwords`.`user_word_error`
+  GROUP BY `user_id`, `word_id`
+  HAVING COUNT(*) > 1
+) d ON e.`id` = d.`keep_id`
+SET e.`error_count` = d.`total_count`, e.`updated_at` = d.`last_updated`;
+
+DELETE e FROM `englishwords`.`user_word_error` e
+JOIN `englishwords`.`user_word_error` k
+  ON k.`user_id` = e.`user_id` AND k.`word_id` = e.`word_id` AND k.`id` < e.`id`;
+
+ALTER TABLE `englishwords`.`user_word_error`
+  ADD UNIQUE KEY `UK_USER_WORD_ERROR_USER_WORD` (`user_id`, `word_id`);
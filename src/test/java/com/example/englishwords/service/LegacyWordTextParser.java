@@ -0,0 +1,128 @@
+package com.example.englishwords.service;
+
+import com.example.englishwords.entity.Word;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 改写前基于正则表达式的解析实现，原样保留，
+ * 用于 WordTextParserTest 检查结果一致，以及 WordTextParserBenchmark 对比性能
+ */
+public final class LegacyWordTextParser {
+    
+    /**
+     * 解析文本中的单词对
+     * 支持格式：
+     * 1. 英语单词 中文释义
+     * 2. *英语单词 中文释义
+     * 3. 英语单词（括号内容）中文释义
+     * @param text 文本内容
+     * @param grade 年级
+     * @param unit 单元
+     * @return 单词列表
+     */
+    public List<Word> parse(String text, Integer grade, Integer unit) {
+        List<Word> words = new ArrayList<>();
+        
+        // 按行分割文本
+        String[] lines = text.split("\\n");
+        
+        for (String line : lines) {
+            line = line.trim();
+            if (line.isEmpty()) continue;
+            
+            // 移除行首的*号和其他特殊字符
+            line = line.replaceAll("^[*\\s]+", "");
+            
+            // 尝试提取英语单词和中文释义
+            Word word = extractWordFromLine(line, grade, unit);
+            
+            if (word != null && isValidWord(word)) {
+                words.add(word);
+            }
+        }
+        
+        return words;
+    }
+    
+    /**
+     * 从单行文本中提取单词和释义
+     */
+    private Word extractWordFromLine(String line, Integer grade, Integer unit) {
+        // 匹配英语单词（可能包含括号内的内容如复数形式）后面跟着中文
+        // 格式: 英语单词 中文释义 或 英语单词（说明）中文释义
+        
+        // 先尝试找到第一个中文字符的位置
+        int chineseStart = -1;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (isChinese(c)) {
+                chineseStart = i;
+                break;
+            }
+        }
+        
+        if (chineseStart <= 0) {
+            return null;
+        }
+        
+        // 提取英语部分（中文之前的内容）
+        String englishPart = line.substring(0, chineseStart).trim();
+        // 提取中文部分
+        String chinesePart = line.substring(chineseStart).trim();
+        
+        // 清理英语部分 - 只保留主要单词，移除括号内容
+        englishPart = englishPart.replaceAll("[（\\(][^）\\)]*[）\\)]", "").trim();
+        // 只保留字母、连字符和空格
+        englishPart = englishPart.replaceAll("[^a-zA-Z\\s-]", "").trim();
+        // 如果有多个空格，只保留一个
+        englishPart = englishPart.replaceAll("\\s+", " ");
+        
+        // 清理中文部分 - 移除括号内的英文说明
+        chinesePart = chinesePart.replaceAll("[（\\(][a-zA-Z][^）\\)]*[）\\)]", "").trim();
+        // 移除英文字符
+        StringBuilder cleanChinese = new StringBuilder();
+        for (char c : chinesePart.toCharArray()) {
+            if (isChinese(c) || c == '；' || c == '，' || c == '、') {
+                cleanChinese.append(c);
+            }
+        }
+        chinesePart = cleanChinese.toString().trim();
+        
+        if (englishPart.isEmpty() || chinesePart.isEmpty()) {
+            return null;
+        }
+        
+        Word word = new Word();
+        word.setEnglish(englishPart);
+        word.setChinese(chinesePart);
+        word.setGrade(grade);
+        word.setUnit(unit);
+        word.setCreatedAt(LocalDateTime.now());
+        word.setUpdatedAt(LocalDateTime.now());
+        
+        return word;
+    }
+    
+    /**
+     * 判断字符是否是中文字符
+     */
+    private boolean isChinese(char c) {
+        // Unicode范围：中文基本区
+        return c >= 0x4E00 && c <= 0x9FFF;
+    }
+    
+    /**
+     * 验证单词是否有效
+     * @param word 单词对象
+     * @return 是否有效
+     */
+    boolean isValidWord(Word word) {
+        return word.getEnglish() != null && !word.getEnglish().isEmpty() &&
+               word.getChinese() != null && !word.getChinese().isEmpty() &&
+               word.getEnglish().length() > 1 && word.getEnglish().length() < 50 &&
+               word.getChinese().length() > 1 && word.getChinese().length() < 50;
+    }
+}
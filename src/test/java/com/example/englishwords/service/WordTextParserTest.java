@@ -0,0 +1,101 @@
+package com.example.englishwords.service;
+
+import com.example.englishwords.entity.Word;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 单遍扫描的 WordTextParser 必须与改写前基于正则的 LegacyWordTextParser 解析结果一致
+ */
+class WordTextParserTest {
+
+    private static final String RECORDED_PAGE = String.join("\n",
+            "Unit 3 Is this your pencil?",
+            "Section A",
+            "pencil /ˈpensl/ n. 铅笔",
+            "* pen 钢笔",
+            "book (books) 书",
+            "dictionary（dictionaries）词典；字典",
+            "*welcome 受欢迎的",
+            "You're welcome. 别客气。",
+            "ask（sb. for sth.）向（某人）请求（某物）",
+            "at（prep.）在（电子邮箱地址中）",
+            "| 12 |  ",
+            "——   ——",
+            "  pencil-case 笔袋\r",
+            "\tcrayon 蜡笔",
+            "volleyball (n.) 排球；（sb.）",
+            "Tom 汤姆（男名）",
+            "");
+
+    // 随机行使用的字符：字母、各种空白和控制字符、星号、半角和全角括号、中文和中文标点
+    private static final String FUZZ_ALPHABET =
+            "abZy  \t\r\u000B\f*()（）-1.中文苹果；，、\u0001\u001C\u00A0\u3000 xq";
+
+    private final WordTextParser parser = new WordTextParser();
+    private final LegacyWordTextParser legacyParser = new LegacyWordTextParser();
+
+    @Test
+    void recordedPageMatchesLegacyParser() {
+        assertSameWords(RECORDED_PAGE);
+    }
+
+    @Test
+    void randomLinesMatchLegacyParser() {
+        Random random = new Random(1);
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder text = new StringBuilder();
+            int lines = 1 + random.nextInt(4);
+            for (int line = 0; line < lines; line++) {
+                int length = random.nextInt(25);
+                for (int j = 0; j < length; j++) {
+                    text.append(FUZZ_ALPHABET.charAt(random.nextInt(FUZZ_ALPHABET.length())));
+                }
+                if (line < lines - 1 || random.nextBoolean()) {
+                    text.append('\n');
+                }
+            }
+            assertSameWords(text.toString());
+        }
+    }
+
+    @Test
+    void parsesCommonFormats() {
+        List<Word> words = parser.parse("* apple 苹果\nbanana（bananas）香蕉\nUnit 1\n", 3, 4);
+        assertEquals(2, words.size());
+        assertEquals("apple", words.get(0).getEnglish());
+        assertEquals("苹果", words.get(0).getChinese());
+        assertEquals(3, words.get(0).getGrade());
+        assertEquals(4, words.get(0).getUnit());
+        // 括号中的说明不计入英文
+        assertEquals("banana", words.get(1).getEnglish());
+        assertEquals("香蕉", words.get(1).getChinese());
+    }
+
+    @Test
+    void treatsCjkExtensionAAsChinese() {
+        // 改写后扩展A区汉字也按中文处理（原实现只识别基本区）
+        List<Word> words = parser.parse("apple \u3400苹果\n", 1, 1);
+        assertEquals(1, words.size());
+        assertEquals("apple", words.get(0).getEnglish());
+    }
+
+    private void assertSameWords(String text) {
+        List<Word> expected = legacyParser.parse(text, 1, 2);
+        List<Word> actual = parser.parse(text, 1, 2);
+        String input = text.replace("\n", "\\n");
+        assertEquals(expected.size(), actual.size(), () -> "单词数不一致: " + input);
+        for (int i = 0; i < expected.size(); i++) {
+            Word e = expected.get(i);
+            Word a = actual.get(i);
+            assertEquals(e.getEnglish(), a.getEnglish(), () -> "英文不一致: " + input);
+            assertEquals(e.getChinese(), a.getChinese(), () -> "中文不一致: " + input);
+            assertEquals(e.getGrade(), a.getGrade());
+            assertEquals(e.getUnit(), a.getUnit());
+        }
+    }
+}
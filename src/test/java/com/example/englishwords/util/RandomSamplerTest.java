@@ -0,0 +1,86 @@
+package com.example.englishwords.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * RandomSampler 无放回抽样的正确性和均匀性
+ */
+class RandomSamplerTest {
+
+    @Test
+    void returnsDistinctIndicesInRange() {
+        Random random = new Random(7);
+        for (int n = 0; n <= 50; n++) {
+            for (int k = 0; k <= n; k++) {
+                int[] indices = RandomSampler.sampleIndices(n, k, random);
+                assertEquals(k, indices.length);
+                assertDistinctInRange(indices, n);
+            }
+        }
+    }
+
+    @Test
+    void sparseSamplingFromHugeRange() {
+        // 只记录交换过的位置，n 很大时也不分配 O(n) 的内存
+        int[] indices = RandomSampler.sampleIndices(Integer.MAX_VALUE, 1000, new Random(3));
+        assertEquals(1000, indices.length);
+        assertDistinctInRange(indices, Integer.MAX_VALUE);
+    }
+
+    @Test
+    void clampsKToN() {
+        int[] indices = RandomSampler.sampleIndices(5, 9, new Random(1));
+        int[] sorted = indices.clone();
+        Arrays.sort(sorted);
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, sorted);
+        assertEquals(0, RandomSampler.sampleIndices(0, 3, new Random(1)).length);
+    }
+
+    @Test
+    void rejectsNegativeArguments() {
+        assertThrows(IllegalArgumentException.class, () -> RandomSampler.sampleIndices(-1, 1, new Random(1)));
+        assertThrows(IllegalArgumentException.class, () -> RandomSampler.sampleIndices(1, -1, new Random(1)));
+    }
+
+    @Test
+    void everyIndexEquallyLikelyAtEveryPosition() {
+        int n = 10;
+        int k = 3;
+        int trials = 100000;
+        int[][] counts = new int[k][n];
+        Random random = new Random(42);
+        for (int t = 0; t < trials; t++) {
+            int[] indices = RandomSampler.sampleIndices(n, k, random);
+            for (int pos = 0; pos < k; pos++) {
+                counts[pos][indices[pos]]++;
+            }
+        }
+        // 期望每格 10000 次，标准差约 95，允许偏差 1000
+        int expected = trials / n;
+        for (int pos = 0; pos < k; pos++) {
+            for (int i = 0; i < n; i++) {
+                int count = counts[pos][i];
+                assertTrue(Math.abs(count - expected) < 1000,
+                        () -> "下标出现次数偏离均匀分布: " + count);
+            }
+        }
+    }
+
+    private static void assertDistinctInRange(int[] indices, int n) {
+        Set<Integer> seen = new HashSet<>();
+        for (int index : indices) {
+            assertTrue(index >= 0 && index < n, () -> "下标越界: " + index);
+            assertTrue(seen.add(index), () -> "下标重复: " + index);
+        }
+    }
+}
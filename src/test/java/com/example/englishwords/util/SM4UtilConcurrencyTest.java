@@ -0,0 +1,126 @@
+package com.example.englishwords.util;
+
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.Security;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SM4Util 按线程缓存 Cipher 后的并发正确性
+ * 多个线程同时用多把密钥（超过每个线程缓存的上限）加解密，密文必须与未缓存的 Cipher 的结果一致。
+ */
+class SM4UtilConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int OPERATIONS_PER_THREAD = 2000;
+    // 超过 SM4Util 每个线程缓存的8把密钥，覆盖缓存清空重建的路径
+    private static final int KEY_COUNT = 12;
+    private static final int PLAINTEXT_COUNT = 50;
+
+    static {
+        if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null) {
+            Security.addProvider(new BouncyCastleProvider());
+        }
+    }
+
+    @Test
+    void concurrentRoundTripsMatchUncachedCipher() throws Exception {
+        String[] keys = new String[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = String.format("key-%012d", i);
+        }
+        String[] plaintexts = new String[PLAINTEXT_COUNT];
+        for (int i = 0; i < PLAINTEXT_COUNT; i++) {
+            // 长度从0到几十个字符，填充后跨越一到多个分组；包含中文
+            StringBuilder text = new StringBuilder();
+            for (int j = 0; j < i; j++) {
+                text.append(j % 7 == 0 ? '词' : (char) ('a' + j % 26));
+            }
+            plaintexts[i] = text.toString();
+        }
+        // 单线程用每次新建的 Cipher 计算期望的密文
+        String[][] expected = new String[KEY_COUNT][PLAINTEXT_COUNT];
+        for (int k = 0; k < KEY_COUNT; k++) {
+            for (int p = 0; p < PLAINTEXT_COUNT; p++) {
+                expected[k][p] = uncachedEncrypt(plaintexts[p], keys[k]);
+            }
+        }
+
+        Queue<String> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                long seed = t;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    start.await();
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        int k = random.nextInt(KEY_COUNT);
+                        int p = random.nextInt(PLAINTEXT_COUNT);
+                        String encrypted = SM4Util.encrypt(plaintexts[p], keys[k]);
+                        if (!expected[k][p].equals(encrypted)) {
+                            failures.add("密文不一致: key=" + k + ", plaintext=" + p);
+                        }
+                        String decrypted = SM4Util.decrypt(encrypted, keys[k]);
+                        if (!plaintexts[p].equals(decrypted)) {
+                            failures.add("往返结果不一致: key=" + k + ", plaintext=" + p);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(failures.isEmpty(), () -> failures.size() + " 次失败，例如: " + failures.peek());
+    }
+
+    @Test
+    void failedDecryptDoesNotBreakCachedCipher() {
+        String key = "abcdefghijklmnop";
+        String encrypted = SM4Util.encrypt("apple", key);
+        // 长度不是分组整数倍的密文解密失败
+        String truncated = Base64.getEncoder().encodeToString(new byte[5]);
+        assertThrows(RuntimeException.class, () -> SM4Util.decrypt(truncated, key));
+        assertEquals("apple", SM4Util.decrypt(encrypted, key));
+    }
+
+    @Test
+    void matchesUsesDefaultKey() {
+        String encoded = SM4Util.encrypt("secret123");
+        assertTrue(SM4Util.matches("secret123", encoded));
+        assertFalse(SM4Util.matches("secret124", encoded));
+        assertFalse(SM4Util.matches("secret123", "not base64!"));
+    }
+
+    private static String uncachedEncrypt(String plaintext, String key) throws Exception {
+        Cipher cipher = Cipher.getInstance("SM4/ECB/PKCS5Padding", BouncyCastleProvider.PROVIDER_NAME);
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "SM4"));
+        return Base64.getEncoder().encodeToString(cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.englishwords.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * WeightedRandomSampler 加权无放回抽样的正确性和抽中概率
+ */
+class WeightedRandomSamplerTest {
+
+    @Test
+    void returnsDistinctPositiveWeightIndices() {
+        double[] weights = {3, 0, 1, -2, 5, Double.NaN, 2, 1, 0.5};
+        Random random = new Random(11);
+        for (int t = 0; t < 1000; t++) {
+            int[] indices = WeightedRandomSampler.sampleIndices(weights, 4, random);
+            assertEquals(4, indices.length);
+            Set<Integer> seen = new HashSet<>();
+            for (int index : indices) {
+                assertTrue(weights[index] > 0, () -> "抽中了权重不为正的下标: " + index);
+                assertTrue(seen.add(index), () -> "下标重复: " + index);
+            }
+        }
+    }
+
+    @Test
+    void capsKToPositiveWeightCount() {
+        double[] weights = {0, 2, -1, 1, 0};
+        int[] indices = WeightedRandomSampler.sampleIndices(weights, 4, new Random(1));
+        int[] sorted = indices.clone();
+        Arrays.sort(sorted);
+        assertArrayEquals(new int[]{1, 3}, sorted);
+        assertEquals(3, WeightedRandomSampler.sampleIndices(new double[]{1, 1, 1}, 10, new Random(1)).length);
+    }
+
+    @Test
+    void returnsEmptyForEmptyInputOrNonPositiveK() {
+        assertEquals(0, WeightedRandomSampler.sampleIndices(new double[0], 3, new Random(1)).length);
+        assertEquals(0, WeightedRandomSampler.sampleIndices(new double[]{1, 2}, 0, new Random(1)).length);
+        assertEquals(0, WeightedRandomSampler.sampleIndices(new double[]{1, 2}, -1, new Random(1)).length);
+        assertEquals(0, WeightedRandomSampler.sampleIndices(new double[]{0, -1}, 2, new Random(1)).length);
+    }
+
+    @Test
+    void firstPickProportionalToWeight() {
+        double[] weights = {1, 2, 4, 0, 3};
+        int trials = 100000;
+        int[] counts = new int[weights.length];
+        Random random = new Random(42);
+        for (int t = 0; t < trials; t++) {
+            // 结果按抽中先后排列，第一个下标被抽中的概率等于 w / 总权重
+            counts[WeightedRandomSampler.sampleIndices(weights, 2, random)[0]]++;
+        }
+        // 总权重为10，期望次数为 w * 10000，标准差不超过 160，允许偏差 1000
+        for (int i = 0; i < weights.length; i++) {
+            int expected = (int) (weights[i] * trials / 10);
+            int count = counts[i];
+            assertTrue(Math.abs(count - expected) < 1000,
+                    () -> "抽中次数偏离权重比例: " + count + "，期望 " + expected);
+        }
+    }
+
+    @Test
+    void heavierWeightsPickedMoreOften() {
+        double[] weights = {1, 2, 4, 8, 16};
+        int[] counts = new int[weights.length];
+        Random random = new Random(5);
+        for (int t = 0; t < 20000; t++) {
+            for (int index : WeightedRandomSampler.sampleIndices(weights, 2, random)) {
+                counts[index]++;
+            }
+        }
+        for (int i = 1; i < weights.length; i++) {
+            assertTrue(counts[i] > counts[i - 1], () -> "权重更大的下标抽中次数反而更少: " + Arrays.toString(counts));
+        }
+    }
+}